@@ -0,0 +1,76 @@
+package com.omo.shop.benchmark;
+
+import com.omo.shop.cart.model.Cart;
+import com.omo.shop.cart.model.CartItem;
+import com.omo.shop.category.model.Category;
+import com.omo.shop.image.model.Image;
+import com.omo.shop.product.model.Product;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Catalog-shaped test data shared by the benchmarks.
+ */
+public final class Fixtures {
+    private static final int IMAGES_PER_PRODUCT = 3;
+
+    private Fixtures() {
+    }
+
+    public static Product product(long id) {
+        Product product = Product.builder()
+                .id(id)
+                .name("Product " + id)
+                .brand("Brand " + (id % 10))
+                .price(BigDecimal.valueOf(1999 + id, 2))
+                .inventory((int) (id % 50))
+                .description("Description of product " + id + " with enough text to look like a real listing.")
+                .category(Category.builder().id(id % 5).name("Category " + (id % 5)).build())
+                .build();
+        List<Image> images = new ArrayList<>();
+        for (long i = 0; i < IMAGES_PER_PRODUCT; i++) {
+            long imageId = id * IMAGES_PER_PRODUCT + i;
+            images.add(Image.builder()
+                    .id(imageId)
+                    .fileName("product-" + id + "-" + i + ".jpg")
+                    .fileType("image/jpeg")
+                    .downloadUrl("/api/v1/images/download/" + imageId)
+                    .product(product)
+                    .build());
+        }
+        product.setImages(images);
+        return product;
+    }
+
+    public static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            products.add(product(id));
+        }
+        return products;
+    }
+
+    public static Cart cart(int items) {
+        Cart cart = Cart.builder()
+                .id(1L)
+                .totalAmount(BigDecimal.ZERO)
+                .items(new HashSet<>())
+                .build();
+        for (long id = 1; id <= items; id++) {
+            Product product = product(id);
+            int quantity = (int) (id % 3) + 1;
+            cart.getItems().add(CartItem.builder()
+                    .id(id)
+                    .product(product)
+                    .quantity(quantity)
+                    .unitPrice(product.getPrice())
+                    .totalPrice(product.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                    .cart(cart)
+                    .build());
+        }
+        return cart;
+    }
+}
@@ -0,0 +1,38 @@
+package com.omo.shop.cart.mapper;
+
+import com.omo.shop.benchmark.Fixtures;
+import com.omo.shop.cart.dto.CartDto;
+import com.omo.shop.cart.model.Cart;
+import com.omo.shop.category.mapper.CategoryMapper;
+import com.omo.shop.image.mapper.ImageMapper;
+import com.omo.shop.product.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartMapperBenchmark {
+
+    @Param({"5", "50"})
+    private int items;
+
+    private CartMapper cartMapper;
+    private Cart cart;
+
+    @Setup
+    public void setUp() {
+        ProductMapper productMapper = new ProductMapper(new CategoryMapper(), new ImageMapper());
+        cartMapper = new CartMapper(new CartItemMapper(productMapper));
+        cart = Fixtures.cart(items);
+    }
+
+    @Benchmark
+    public CartDto toDto() {
+        return cartMapper.toDto(cart);
+    }
+}
@@ -0,0 +1,36 @@
+package com.omo.shop.cart.model;
+
+import com.omo.shop.benchmark.Fixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartBenchmark {
+
+    @Param({"5", "50"})
+    private int items;
+
+    private Cart cart;
+    private CartItem item;
+
+    @Setup
+    public void setUp() {
+        cart = Fixtures.cart(items);
+        item = cart.getItems().iterator().next();
+    }
+
+    // Each call recomputes the total, as adding or removing a cart line does
+    @Benchmark
+    public BigDecimal removeAndAddItem() {
+        cart.removeItem(item);
+        cart.addItem(item);
+        return cart.getTotalAmount();
+    }
+}
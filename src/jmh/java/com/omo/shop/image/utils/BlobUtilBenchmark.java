@@ -0,0 +1,36 @@
+package com.omo.shop.image.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.rowset.serial.SerialBlob;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class BlobUtilBenchmark {
+
+    // 100 KB thumbnail, 1 MB photo and the 5 MB multipart upload limit
+    @Param({"102400", "1048576", "5242880"})
+    private int bytes;
+
+    private Blob blob;
+
+    @Setup
+    public void setUp() throws SQLException {
+        byte[] data = new byte[bytes];
+        new Random(42).nextBytes(data);
+        blob = new SerialBlob(data);
+    }
+
+    @Benchmark
+    public String convertBlobToBase64() {
+        return BlobUtil.convertBlobToBase64(blob);
+    }
+}
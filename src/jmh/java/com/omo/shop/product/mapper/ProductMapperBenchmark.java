@@ -0,0 +1,38 @@
+package com.omo.shop.product.mapper;
+
+import com.omo.shop.benchmark.Fixtures;
+import com.omo.shop.category.mapper.CategoryMapper;
+import com.omo.shop.image.mapper.ImageMapper;
+import com.omo.shop.product.dto.ProductDto;
+import com.omo.shop.product.model.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    // Default and maximum page size of GET /products
+    @Param({"20", "100"})
+    private int size;
+
+    private ProductMapper productMapper;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        productMapper = new ProductMapper(new CategoryMapper(), new ImageMapper());
+        products = Fixtures.products(size);
+    }
+
+    @Benchmark
+    public List<ProductDto> toDtoList() {
+        return productMapper.toDtoList(products);
+    }
+}
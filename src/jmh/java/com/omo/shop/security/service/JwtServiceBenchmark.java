@@ -0,0 +1,53 @@
+package com.omo.shop.security.service;
+
+import com.omo.shop.security.userprincipal.ShopUserDetails;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    // 0 disables the verified-token cache, so every call pays for HS256 verification;
+    // with a cache the same token is a hit after the first call
+    @Param({"0", "1024"})
+    private int cacheSize;
+
+    private JwtService jwtService;
+    private ShopUserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+
+        jwtService = new JwtService(Base64.getEncoder().encodeToString(secret), 3_600_000, cacheSize);
+
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        userDetails = new ShopUserDetails(1L, "user@example.com", "encoded-password", authorities);
+        token = jwtService.generateTokenForUser(
+                new UsernamePasswordAuthenticationToken(userDetails, null, authorities));
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, userDetails);
+    }
+}
@@ -2,20 +2,36 @@ package com.omo.shop.address.mapper;
 
 import com.omo.shop.address.dto.AddressDto;
 import com.omo.shop.address.model.Address;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
 @Service
-@RequiredArgsConstructor
 public class AddressMapper {
-    private final ModelMapper modelMapper;
 
     public AddressDto toDto(Address address) {
-        return modelMapper.map(address, AddressDto.class);
+        if (address == null) {
+            return null;
+        }
+        return AddressDto.builder()
+                .id(address.getId())
+                .street(address.getStreet())
+                .city(address.getCity())
+                .state(address.getState())
+                .country(address.getCountry())
+                .zipCode(address.getZipCode())
+                .build();
     }
 
     public Address toEntity(AddressDto dto) {
-        return modelMapper.map(dto, Address.class);
+        if (dto == null) {
+            return null;
+        }
+        return Address.builder()
+                .id(dto.getId())
+                .street(dto.getStreet())
+                .city(dto.getCity())
+                .state(dto.getState())
+                .country(dto.getCountry())
+                .zipCode(dto.getZipCode())
+                .build();
     }
 }
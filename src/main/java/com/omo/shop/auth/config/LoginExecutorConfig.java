@@ -0,0 +1,39 @@
+package com.omo.shop.auth.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+
+@Configuration
+public class LoginExecutorConfig {
+
+    /**
+     * BCrypt is deliberately CPU heavy, so password checks run on a pool no larger than the CPU count
+     * instead of on request threads. When the queue is full the login is rejected straight away.
+     * Queue depth and active threads are published by actuator as {@code executor.*{name=loginExecutor}}.
+     */
+    @Bean(name = "loginExecutor")
+    public ThreadPoolTaskExecutor loginExecutor(
+            @Value("${application.auth.login.pool-size}") int poolSize,
+            @Value("${application.auth.login.queue-capacity}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        Counter rejected = meterRegistry.counter("auth.login.rejected");
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            throw new RejectedExecutionException("Login queue is full");
+        });
+        return executor;
+    }
+}
@@ -2,14 +2,24 @@ package com.omo.shop.auth.controller;
 
 import com.omo.shop.auth.request.AuthRequest;
 import com.omo.shop.auth.service.AuthService;
+import com.omo.shop.common.exceptions.ServerBusyException;
 import com.omo.shop.common.response.ApiResponse;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
+
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
 @RestController
 @RequestMapping("${api.prefix}/auth")
 @RequiredArgsConstructor
@@ -17,11 +27,33 @@ public class AuthController {
 
     private final AuthService service;
 
+    @Value("${application.auth.login.retry-after}")
+    private Duration retryAfter;
+
     @PostMapping("/login")
     public ResponseEntity<ApiResponse> authenticate(
             @RequestBody AuthRequest request
     ) {
-        return ResponseEntity
-                .ok(new ApiResponse("Success", service.authenticate(request)));
+        try {
+            return ResponseEntity
+                    .ok(new ApiResponse("Success", service.authenticate(request)));
+        } catch (ServerBusyException e) {
+            return ResponseEntity.status(SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter.toSeconds()))
+                    .body(new ApiResponse(e.getMessage(), null));
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        if (!authorization.startsWith("Bearer ")) {
+            return ResponseEntity.status(UNAUTHORIZED).body(new ApiResponse("Invalid JWT token.", null));
+        }
+        try {
+            service.logout(authorization.substring(7));
+            return ResponseEntity.ok(new ApiResponse("Logged out", null));
+        } catch (JwtException | IllegalArgumentException e) {
+            return ResponseEntity.status(UNAUTHORIZED).body(new ApiResponse(e.getMessage(), null));
+        }
     }
 }
@@ -1,15 +1,25 @@
 package com.omo.shop.auth.service;
 
 import com.omo.shop.auth.request.AuthRequest;
+import com.omo.shop.common.exceptions.ServerBusyException;
 import com.omo.shop.security.service.JwtService;
+import com.omo.shop.security.service.TokenRevocationService;
 import com.omo.shop.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.omo.shop.common.constants.ExceptionMessages.LOGIN_BUSY;
+
 
 @Service
 @RequiredArgsConstructor
@@ -19,16 +29,43 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginVerifier loginVerifier;
+
+    // Upper bound on queueing plus hashing before the caller is told to retry
+    @Value("${application.auth.login.timeout}")
+    private Duration loginTimeout;
 
 
     public String authenticate(AuthRequest request) {
-        Authentication auth = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+        CompletableFuture<Authentication> verification;
+        try {
+            verification = loginVerifier.verify(request.getEmail(), request.getPassword());
+        } catch (TaskRejectedException e) {
+            throw new ServerBusyException(LOGIN_BUSY);
+        }
+
+        Authentication auth;
+        try {
+            auth = verification.get(loginTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // A cancelled check still waiting in the queue is skipped, so the pool doesn't hash for a gone caller
+            verification.cancel(true);
+            throw new ServerBusyException(LOGIN_BUSY);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            verification.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServerBusyException(LOGIN_BUSY);
+        }
         return jwtService.generateTokenForUser(auth);
     }
+
+    public void logout(String token) {
+        tokenRevocationService.revoke(jwtService.parseClaims(token));
+    }
 }
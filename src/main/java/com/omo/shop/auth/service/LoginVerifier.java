@@ -0,0 +1,30 @@
+package com.omo.shop.auth.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@RequiredArgsConstructor
+public class LoginVerifier {
+    private final AuthenticationManager authenticationManager;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Checks the credentials on the login executor.
+     *
+     * @throws org.springframework.core.task.TaskRejectedException if the login queue is full
+     */
+    @Async("loginExecutor")
+    public CompletableFuture<Authentication> verify(String email, String password) {
+        Authentication auth = meterRegistry.timer("auth.login.verify").record(() ->
+                authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, password)));
+        return CompletableFuture.completedFuture(auth);
+    }
+}
@@ -2,24 +2,39 @@ package com.omo.shop.cart.mapper;
 
 import com.omo.shop.cart.dto.CartItemDto;
 import com.omo.shop.cart.model.CartItem;
+import com.omo.shop.product.mapper.ProductMapper;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class CartItemMapper {
-    private final ModelMapper modelMapper;
+    private final ProductMapper productMapper;
 
+    // The cart back-reference is never mapped, which prevents infinite recursion
     public CartItemDto toDto(CartItem cartItem) {
-        CartItemDto cartItemDto = modelMapper.map(cartItem, CartItemDto.class);
-
-        // 🔥 Prevent infinite recursion by NOT setting CartDto
-        cartItemDto.setCart(null);
-        return cartItemDto;
+        if (cartItem == null) {
+            return null;
+        }
+        return CartItemDto.builder()
+                .id(cartItem.getId())
+                .quantity(cartItem.getQuantity())
+                .unitPrice(cartItem.getUnitPrice())
+                .totalPrice(cartItem.getTotalPrice())
+                .product(productMapper.toDto(cartItem.getProduct()))
+                .build();
     }
 
     public CartItem toEntity(CartItemDto cartItemDto) {
-        return modelMapper.map(cartItemDto, CartItem.class);
+        if (cartItemDto == null) {
+            return null;
+        }
+        return CartItem.builder()
+                .id(cartItemDto.getId())
+                .quantity(cartItemDto.getQuantity())
+                .unitPrice(cartItemDto.getUnitPrice())
+                .totalPrice(cartItemDto.getTotalPrice())
+                .product(productMapper.toEntity(cartItemDto.getProduct()))
+                .build();
     }
 }
@@ -5,45 +5,50 @@ import com.omo.shop.cart.dto.CartItemDto;
 import com.omo.shop.cart.model.Cart;
 import com.omo.shop.cart.model.CartItem;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+
 @Service
 @RequiredArgsConstructor
 public class CartMapper {
-    private final ModelMapper modelMapper;
     private final CartItemMapper cartItemMapper;
 
     public CartDto toDto(Cart cart) {
-        CartDto cartDto = modelMapper.map(cart, CartDto.class);
-
-        // Manually map items to prevent infinite recursion
+        if (cart == null) {
+            return null;
+        }
         Set<CartItemDto> cartItemDtos = cart.getItems() == null ?
                 new HashSet<>() :
                 cart.getItems()
                         .stream()
-                        .map(cartItemMapper::toDto) // Convert CartItem to CartItemDto
+                        .map(cartItemMapper::toDto)
                         .collect(Collectors.toSet());
 
-        cartDto.setItems(cartItemDtos);
-        return cartDto;
+        return CartDto.builder()
+                .id(cart.getId())
+                .totalAmount(cart.getTotalAmount())
+                .items(cartItemDtos)
+                .build();
     }
 
     public Cart toEntity(CartDto cartDto) {
-        Cart cart = modelMapper.map(cartDto, Cart.class);
-
-        // Manually map items
-        Set<CartItem> cartItems = cartDto.getItems()== null ?
+        if (cartDto == null) {
+            return null;
+        }
+        Set<CartItem> cartItems = cartDto.getItems() == null ?
                 new HashSet<>() :
                 cartDto.getItems().stream()
-                .map(cartItemMapper::toEntity) // Convert CartItemDto to CartItem
+                .map(cartItemMapper::toEntity)
                 .collect(Collectors.toSet());
 
-        cart.setItems(cartItems);
-        return cart;
+        return Cart.builder()
+                .id(cartDto.getId())
+                .totalAmount(cartDto.getTotalAmount())
+                .items(cartItems)
+                .build();
     }
 }
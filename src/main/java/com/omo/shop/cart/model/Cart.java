@@ -17,9 +17,8 @@ import java.util.Set;
 @Entity
 public class Cart {
     @Id
-    @GeneratedValue(
-            strategy = GenerationType.IDENTITY
-    )
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_seq")
+    @SequenceGenerator(name = "cart_seq", allocationSize = 50)
     private Long id;
     private BigDecimal totalAmount = BigDecimal.ZERO;
     @OneToMany(
@@ -17,7 +17,8 @@ import java.math.BigDecimal;
 @Entity
 public class CartItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_item_seq")
+    @SequenceGenerator(name = "cart_item_seq", allocationSize = 50)
     @EqualsAndHashCode.Include // Use ID for equality
     private Long id;
     private int quantity;
@@ -13,6 +13,8 @@ import com.omo.shop.common.exceptions.ResourceNotFoundException;
 import com.omo.shop.product.mapper.ProductMapper;
 import com.omo.shop.product.model.Product;
 import com.omo.shop.product.service.IProductService;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -20,6 +22,7 @@ import java.math.BigDecimal;
 
 import static com.omo.shop.common.constants.ExceptionMessages.CART_NOT_FOUND;
 
+@Timed("shop.cart.items")
 @Service
 @RequiredArgsConstructor
 public class CartItemService implements ICartItemService {
@@ -32,6 +35,7 @@ public class CartItemService implements ICartItemService {
     private final CartMapper cartMapper;
 
     @Override
+    @Counted(value = "shop.cart.mutations", extraTags = {"operation", "add"})
     public void addItemToCart(Long cartId, Long productId, Integer quantity) {
         Cart cart = cartRepository.findById(cartId).orElseThrow(() -> new ResourceNotFoundException(CART_NOT_FOUND));
         Product product = productMapper.toEntity(productService.getProductById(productId));
@@ -56,6 +60,7 @@ public class CartItemService implements ICartItemService {
     }
 
     @Override
+    @Counted(value = "shop.cart.mutations", extraTags = {"operation", "remove"})
     public void removeItemFromCart(Long cartId, Long productId) {
         Cart cart = cartRepository.findById(cartId).orElseThrow(() ->
                 new ResourceNotFoundException(CART_NOT_FOUND));
@@ -65,6 +70,7 @@ public class CartItemService implements ICartItemService {
     }
 
     @Override
+    @Counted(value = "shop.cart.mutations", extraTags = {"operation", "update"})
     public void updateItemQuantity(Long cartId, Long productId, Integer quantity) {
         Cart cart = cartRepository.findById(cartId)
                 .orElseThrow(() -> new ResourceNotFoundException(CART_NOT_FOUND));
@@ -2,25 +2,32 @@ package com.omo.shop.category.mapper;
 
 import com.omo.shop.category.dto.CategoryDto;
 import com.omo.shop.category.model.Category;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class CategoryMapper {
 
-    private final ModelMapper modelMapper;
-
     public CategoryDto toDto(Category category) {
-        return modelMapper.map(category, CategoryDto.class);
+        if (category == null) {
+            return null;
+        }
+        return CategoryDto.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .build();
     }
 
     public Category toEntity(CategoryDto categoryDto) {
-        return modelMapper.map(categoryDto, Category.class);
+        if (categoryDto == null) {
+            return null;
+        }
+        return Category.builder()
+                .id(categoryDto.getId())
+                .name(categoryDto.getName())
+                .build();
     }
 
     public List<CategoryDto> toDtoList(List<Category> categories) {
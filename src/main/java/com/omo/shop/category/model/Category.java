@@ -15,7 +15,8 @@ import java.util.List;
 @Entity
 public class Category {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq")
+    @SequenceGenerator(name = "category_seq", allocationSize = 50)
     private Long id;
     private String name;
     @OneToMany(mappedBy = "category")
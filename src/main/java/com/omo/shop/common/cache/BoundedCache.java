@@ -0,0 +1,60 @@
+package com.omo.shop.common.cache;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded map for caches read on every request. Reads and writes go straight to a
+ * {@link ConcurrentHashMap}, so no caller waits on a shared monitor (which would pin a virtual
+ * thread's carrier). Eviction is approximate: a put that takes the map over its bound drops other
+ * entries in iteration order until it fits, rather than the least recently used ones.
+ */
+public class BoundedCache<K, V> {
+    private final ConcurrentHashMap<K, V> entries = new ConcurrentHashMap<>();
+    private final IntSupplier maxEntries;
+
+    public BoundedCache(int maxEntries) {
+        this(() -> maxEntries);
+    }
+
+    /**
+     * @param maxEntries read on every put, for bounds injected after construction; 0 or less disables caching
+     */
+    public BoundedCache(IntSupplier maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public V get(K key) {
+        return entries.get(key);
+    }
+
+    public void put(K key, V value) {
+        int max = maxEntries.getAsInt();
+        if (max <= 0) {
+            return;
+        }
+        entries.put(key, value);
+        if (entries.size() > max) {
+            Iterator<K> keys = entries.keySet().iterator();
+            while (entries.size() > max && keys.hasNext()) {
+                if (!keys.next().equals(key)) {
+                    keys.remove();
+                }
+            }
+        }
+    }
+
+    public V remove(K key) {
+        return entries.remove(key);
+    }
+
+    public boolean removeIf(Predicate<? super V> filter) {
+        return entries.values().removeIf(filter);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -14,6 +14,18 @@ public final class ExceptionMessages {
     public static final String CATEGORY_EXISTED = " already exists ";
     public static final String ADDRESS_NOT_FOUND = "Address not found";
     public static final String TOKEN_EXPIRED = "Your session has expired. Please login again.";
+    public static final String INVALID_CURSOR = "Invalid pagination cursor";
+    public static final String INVALID_DATE_RANGE = "'from' must be before 'to'";
+    public static final String INSUFFICIENT_STOCK = "Not enough stock for product: ";
+    public static final String INVALID_IDEMPOTENCY_KEY = "Idempotency-Key must be 1 to 100 characters";
+    public static final String IDEMPOTENCY_KEY_IN_PROGRESS = "A request with this Idempotency-Key is still being processed";
+    public static final String IDEMPOTENCY_KEY_REUSED = "Idempotency-Key was already used with different parameters";
+    public static final String LOGIN_BUSY = "Too many login attempts in progress, please retry shortly";
+    public static final String UNSUPPORTED_IMPORT_FORMAT = "Import body must be text/csv or application/x-ndjson";
+    public static final String INVALID_IMPORT_HEADER = "CSV header must name the columns name, brand, price and category";
+    public static final String INVALID_PRODUCT_PATCH = "Each patch needs a product id and a non-negative price or inventory";
+    public static final String DUPLICATE_PRODUCT_PATCH = "A product can only be patched once per request: ";
+    public static final String TOO_MANY_PRODUCT_PATCHES = "Too many patches in one request, the limit is ";
 
 
     private ExceptionMessages() {
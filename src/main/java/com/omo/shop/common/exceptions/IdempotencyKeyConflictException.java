@@ -0,0 +1,7 @@
+package com.omo.shop.common.exceptions;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+}
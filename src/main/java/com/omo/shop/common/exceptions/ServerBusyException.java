@@ -0,0 +1,7 @@
+package com.omo.shop.common.exceptions;
+
+public class ServerBusyException extends RuntimeException {
+    public ServerBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,150 @@
+package com.omo.shop.common.logging;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the body size as it is written, without buffering it. Output through {@link #getWriter()} is
+ * counted in characters, which matches bytes for the ASCII JSON this API mostly returns.
+ * The declared Content-Length is kept too, for bodies the connector writes itself.
+ */
+class CountingResponseWrapper extends HttpServletResponseWrapper {
+    private long count;
+    private long contentLength = -1;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    CountingResponseWrapper(HttpServletResponse response) {
+        super(response);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * The Content-Length set on the response, or -1 if none was.
+     */
+    long getContentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        super.setContentLength(len);
+        contentLength = len;
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        super.setContentLengthLong(len);
+        contentLength = len;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        super.setHeader(name, value);
+        recordContentLength(name, value);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        super.addHeader(name, value);
+        recordContentLength(name, value);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        super.setIntHeader(name, value);
+        recordContentLength(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        super.addIntHeader(name, value);
+        recordContentLength(name, String.valueOf(value));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            ServletOutputStream delegate = super.getOutputStream();
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    delegate.write(b);
+                    count++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    delegate.write(b, off, len);
+                    count += len;
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    delegate.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    delegate.close();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return delegate.isReady();
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                    delegate.setWriteListener(listener);
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(super.getWriter()) {
+                @Override
+                public void write(int c) {
+                    super.write(c);
+                    count++;
+                }
+
+                @Override
+                public void write(char[] buf, int off, int len) {
+                    super.write(buf, off, len);
+                    count += len;
+                }
+
+                @Override
+                public void write(String s, int off, int len) {
+                    super.write(s, off, len);
+                    count += len;
+                }
+            };
+        }
+        return writer;
+    }
+
+    private void recordContentLength(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && value != null) {
+            try {
+                contentLength = Long.parseLong(value.trim());
+            } catch (NumberFormatException ignored) {
+                // Left for the container to reject
+            }
+        }
+    }
+}
@@ -1,20 +1,116 @@
 package com.omo.shop.common.logging;
 
-import jakarta.servlet.*;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.extern.slf4j.Slf4j;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Writes one access-log line per request: method, URI template, status, duration and response size.
+ * Lines go to the {@code access} logger, which logback-spring.xml routes through a non-blocking
+ * async appender that drops lines rather than stall request threads when it falls behind.
+ * <p>
+ * Successful GETs on high-volume routes can be sampled; errors are always logged.
+ * Runs first so requests rejected by the security chain are logged too.
+ */
 @Component
-@Slf4j
-public class LoggingFilter implements Filter {
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LoggingFilter extends OncePerRequestFilter {
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+    // Set by ResourceTransferUtil when Tomcat sends the file itself after the filter chain returns
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final boolean enabled;
+    private final List<SampledRoute> sampledRoutes;
+
+    public LoggingFilter(@Value("${application.access-log.enabled}") boolean enabled,
+                         @Value("${application.access-log.sampled-routes}") List<String> sampledRoutes) {
+        this.enabled = enabled;
+        this.sampledRoutes = sampledRoutes.stream()
+                .map(String::trim)
+                .filter(spec -> !spec.isEmpty())
+                .map(SampledRoute::parse)
+                .toList();
+    }
+
     @Override
-    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
-            throws IOException, ServletException {
-        HttpServletRequest req = (HttpServletRequest) request;
-        log.info("Incoming request: {} {}", req.getMethod(), req.getRequestURI());
-        chain.doFilter(request, response);
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!enabled || !accessLog.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        CountingResponseWrapper counting = new CountingResponseWrapper(response);
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(request, counting);
+            status = counting.getStatus();
+        } finally {
+            if (shouldLog(request, status)) {
+                Object template = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                accessLog.info("method={} uri={} status={} duration_ms={} bytes={}",
+                        request.getMethod(),
+                        template != null ? template : request.getRequestURI(),
+                        status,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                        bytesSent(request, counting));
+            }
+        }
+    }
+
+    static long bytesSent(HttpServletRequest request, CountingResponseWrapper response) {
+        if (request.getAttribute(SENDFILE_FILENAME) != null && response.getContentLength() >= 0) {
+            return response.getContentLength();
+        }
+        return response.getCount();
+    }
+
+    boolean shouldLog(HttpServletRequest request, int status) {
+        if (status >= 400 || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        for (SampledRoute route : sampledRoutes) {
+            if (pathMatcher.match(route.pattern(), request.getRequestURI())) {
+                return ThreadLocalRandom.current().nextDouble() < route.rate();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Share of successful GETs logged for paths matching {@code pattern}, written as {@code pattern:rate}.
+     */
+    record SampledRoute(String pattern, double rate) {
+        static SampledRoute parse(String spec) {
+            int separator = spec.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Sampled route must be pattern:rate, got " + spec);
+            }
+            double rate = Double.parseDouble(spec.substring(separator + 1));
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("Sampling rate must be between 0 and 1, got " + spec);
+            }
+            return new SampledRoute(spec.substring(0, separator), rate);
+        }
     }
 }
@@ -0,0 +1,38 @@
+package com.omo.shop.common.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static com.omo.shop.common.constants.ExceptionMessages.INVALID_CURSOR;
+
+/**
+ * Encodes keyset positions (e.g. {@code ID|42} or {@code PRICE|9.99|42}) as URL-safe opaque tokens.
+ */
+public final class CursorCodec {
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(parts[i]);
+        }
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return raw.split("\\" + SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+    }
+}
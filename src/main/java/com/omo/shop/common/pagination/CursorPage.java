@@ -0,0 +1,20 @@
+package com.omo.shop.common.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> items;
+    private int size;
+    private boolean hasNext;
+    // Opaque continuation token, pass it back as `cursor` to fetch the next page
+    private String nextCursor;
+}
@@ -0,0 +1,52 @@
+package com.omo.shop.common.persistence;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.TableStructure;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves table-backed ID sequences past the highest ID already in their entity table.
+ * <p>
+ * MySQL has no sequences, so Hibernate keeps each one as a single-row {@code <name>_seq} table that
+ * starts at 1. Rows inserted under the old auto-increment IDs would otherwise collide with the first
+ * generated IDs. Runs once the schema is up and before the web server accepts requests.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdSequenceAligner implements SmartInitializingSingleton {
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof SequenceStyleGenerator generator
+                    && generator.getDatabaseStructure() instanceof TableStructure sequence
+                    && persister instanceof AbstractEntityPersister entity) {
+                align(sequence.getPhysicalName().getObjectName().render(),
+                        entity.getTableName(), entity.getIdentifierColumnNames()[0]);
+            }
+        });
+    }
+
+    private void align(String sequenceTable, String entityTable, String idColumn) {
+        Long maxId = jdbcTemplate.queryForObject("select max(" + idColumn + ") from " + entityTable, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        int updated = jdbcTemplate.update(
+                "update " + sequenceTable + " set next_val = ? where next_val <= ?", maxId + 1, maxId);
+        if (updated > 0) {
+            log.info("Moved ID sequence {} past existing {} rows to {}", sequenceTable, entityTable, maxId + 1);
+        }
+    }
+}
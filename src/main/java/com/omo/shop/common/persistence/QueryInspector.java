@@ -0,0 +1,72 @@
+package com.omo.shop.common.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sees every SQL statement Hibernate prepares and attributes it to the repository call running on the
+ * current thread, if any. Statements issued outside a repository call, typically lazy loads while
+ * mapping entities, are counted as unattributed.
+ */
+public class QueryInspector implements StatementInspector {
+    private static final int MAX_RECORDED_STATEMENTS = 5;
+    private static final ThreadLocal<Recording> current = new ThreadLocal<>();
+
+    private final Counter unattributed;
+
+    public QueryInspector(Counter unattributed) {
+        this.unattributed = unattributed;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Recording recording = current.get();
+        if (recording == null) {
+            unattributed.increment();
+        } else {
+            recording.record(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Starts recording statements on this thread.
+     *
+     * @return the new recording, or {@code null} if an outer repository call is already recording
+     */
+    static Recording startRecording() {
+        if (current.get() != null) {
+            return null;
+        }
+        Recording recording = new Recording();
+        current.set(recording);
+        return recording;
+    }
+
+    static void stopRecording() {
+        current.remove();
+    }
+
+    static final class Recording {
+        private final List<String> statements = new ArrayList<>();
+        private int count;
+
+        private void record(String sql) {
+            count++;
+            if (statements.size() < MAX_RECORDED_STATEMENTS) {
+                statements.add(sql);
+            }
+        }
+
+        int count() {
+            return count;
+        }
+
+        List<String> statements() {
+            return statements;
+        }
+    }
+}
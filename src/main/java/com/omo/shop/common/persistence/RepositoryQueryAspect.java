@@ -0,0 +1,92 @@
+package com.omo.shop.common.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements each repository method issues ({@code shop.repository.statements}), which makes
+ * N+1 regressions show up as a jump in statements per call. Calls slower than the threshold are written
+ * to the {@code sql.slow} logger with their statements; bind parameters are never logged and inline
+ * literals are masked.
+ * <p>
+ * Coverage is per repository call, not per JDBC statement:
+ * <ul>
+ *     <li>Inserts and updates Hibernate defers to the flush at commit run after the repository call has
+ *     returned. They are counted under {@code repository=unattributed}, and their time is not measured.</li>
+ *     <li>Statements sent through {@code JdbcTemplate}, like the bulk product patch, never pass the
+ *     Hibernate {@link QueryInspector}. Their call is timed and can be logged as slow, but counts 0
+ *     statements and lists no SQL.</li>
+ * </ul>
+ * Per-statement timing of those would need a proxy around the {@code DataSource}.
+ */
+@Aspect
+@Component
+public class RepositoryQueryAspect {
+    private static final Logger slowQueryLog = LoggerFactory.getLogger("sql.slow");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<=[=<>(,]\\s?)-?\\d+(\\.\\d+)?\\b");
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public RepositoryQueryAspect(MeterRegistry meterRegistry,
+                                 @Value("${application.sql.slow-query-threshold}") Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        QueryInspector.Recording recording = QueryInspector.startRecording();
+        if (recording == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            QueryInspector.stopRecording();
+            long elapsed = System.nanoTime() - start;
+            String repository = repositoryName(joinPoint.getTarget());
+            String method = joinPoint.getSignature().getName();
+            meterRegistry.counter("shop.repository.statements", "repository", repository, "method", method)
+                    .increment(recording.count());
+            if (elapsed >= slowThresholdNanos) {
+                slowQueryLog.warn("repository={} method={} duration_ms={} statements={} sql=\"{}\"",
+                        repository, method, TimeUnit.NANOSECONDS.toMillis(elapsed), recording.count(),
+                        recording.statements().stream().map(RepositoryQueryAspect::redact)
+                                .collect(Collectors.joining("; ")));
+            }
+        }
+    }
+
+    static String redact(String sql) {
+        String masked = STRING_LITERAL.matcher(sql).replaceAll("?");
+        return NUMBER_LITERAL.matcher(masked).replaceAll("?").replaceAll("\\s+", " ").trim();
+    }
+
+    private String repositoryName(Object repository) {
+        return repositoryNames.computeIfAbsent(repository.getClass(), type ->
+                Arrays.stream(AopProxyUtils.proxiedUserInterfaces(repository))
+                        .filter(candidate -> !candidate.getName().startsWith("org.springframework."))
+                        .map(Class::getSimpleName)
+                        .findFirst()
+                        .orElse(type.getSimpleName()));
+    }
+}
@@ -0,0 +1,18 @@
+package com.omo.shop.common.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SqlObservabilityConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryInspectorCustomizer(MeterRegistry meterRegistry) {
+        QueryInspector inspector = new QueryInspector(
+                meterRegistry.counter("shop.repository.statements", "repository", "unattributed", "method", "none"));
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+}
@@ -0,0 +1,30 @@
+package com.omo.shop.image.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Slf4j
+@Configuration
+public class ImageDerivativeConfig {
+
+    /**
+     * Decoding and scaling images is CPU and memory heavy, so it runs on a small bounded pool.
+     * When the queue is full the job is dropped and the original keeps being served.
+     */
+    @Bean(name = "imageDerivativeExecutor")
+    public ThreadPoolTaskExecutor imageDerivativeExecutor(
+            @Value("${application.images.derivatives.pool-size}") int poolSize,
+            @Value("${application.images.derivatives.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-derivative-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("Image derivative queue is full, skipping derivative generation"));
+        return executor;
+    }
+}
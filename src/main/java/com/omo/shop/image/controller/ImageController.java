@@ -2,24 +2,27 @@ package com.omo.shop.image.controller;
 
 import com.omo.shop.common.exceptions.ResourceNotFoundException;
 import com.omo.shop.common.response.ApiResponse;
+import com.omo.shop.image.dto.ImageContent;
 import com.omo.shop.image.dto.ImageDto;
-import com.omo.shop.image.model.Image;
 import com.omo.shop.image.service.IImageService;
-import com.omo.shop.image.utils.BlobUtil;
+import com.omo.shop.image.utils.ResourceTransferUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.http.HttpRange;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.sql.SQLException;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 
-import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
-import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.*;
 
 @RestController
 @RequestMapping("${api.prefix}/images")
@@ -27,6 +30,9 @@ import static org.springframework.http.HttpStatus.NOT_FOUND;
 public class ImageController {
     private final IImageService imageService;
 
+    @Value("${application.images.cache.max-age}")
+    private Duration immutableMaxAge;
+
     @PostMapping("/upload")
     public ResponseEntity<ApiResponse> saveImages(
             @RequestParam List<MultipartFile> files,
@@ -42,19 +48,100 @@ public class ImageController {
     }
 
     @GetMapping("/download/{imageId}")
-    public ResponseEntity<Resource> downloadImage(@PathVariable Long imageId) throws SQLException {
-        Image imageEntity = imageService.getImageEntityById(imageId);
-
-        String base64Image = BlobUtil.convertBlobToBase64(imageEntity.getImage());
-        byte[] imageBytes = imageService.decodeBase64ToBytes(base64Image);
-
-        ByteArrayResource resource = new ByteArrayResource(imageBytes);
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(imageEntity.getFileType()))
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + imageEntity.getFileName() + "\""
-                )
-                .body(resource);
+    public void downloadImage(@PathVariable Long imageId,
+                              @RequestParam(name = "v", required = false) String version,
+                              @RequestParam(required = false) Integer size,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        ImageContent content;
+        try {
+            content = imageService.getImageContent(imageId, size);
+        } catch (ResourceNotFoundException e) {
+            response.setStatus(NOT_FOUND.value());
+            return;
+        }
+
+        String eTag = eTag(content);
+        long lastModified = content.getLastModified() == null ? -1 : content.getLastModified().toEpochMilli();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl(content, version, size).getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
+
+        long contentLength = content.getSize();
+        response.setContentType(content.getFileType());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + content.getFileName() + "\"");
+
+        List<HttpRange> ranges = ranges(request, eTag, lastModified);
+        // No usable range, or several: multipart byteranges are not worth it for images
+        if (ranges.size() != 1) {
+            response.setContentLengthLong(contentLength);
+            ResourceTransferUtil.transfer(content.getResource(), 0, contentLength, request, response);
+            return;
+        }
+
+        long start = ranges.get(0).getRangeStart(contentLength);
+        if (start >= contentLength) {
+            response.setStatus(REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + contentLength);
+            return;
+        }
+        long end = ranges.get(0).getRangeEnd(contentLength);
+        long length = end - start + 1;
+        response.setStatus(PARTIAL_CONTENT.value());
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + contentLength);
+        response.setContentLengthLong(length);
+        ResourceTransferUtil.transfer(content.getResource(), start, length, request, response);
+    }
+
+    private String eTag(ImageContent content) {
+        if (content.getContentHash() == null) {
+            return null;
+        }
+        String variant = content.getDerivativeSize() == null ? "" : "-" + content.getDerivativeSize();
+        return "\"" + content.getContentHash() + variant + "\"";
+    }
+
+    // Versioned URLs (?v=<content hash>) never change content, anything else must revalidate.
+    // A requested size served by the original (derivative not generated yet) must revalidate too.
+    private CacheControl cacheControl(ImageContent content, String version, Integer requestedSize) {
+        boolean servedAsRequested = requestedSize == null || content.getDerivativeSize() != null;
+        if (servedAsRequested && version != null && version.equals(content.getContentHash())) {
+            return CacheControl.maxAge(immutableMaxAge).cachePublic().immutable();
+        }
+        return CacheControl.noCache().cachePublic();
+    }
+
+    // A Range header that doesn't parse is ignored (RFC 9110 14.2), so the full body is served
+    private List<HttpRange> ranges(HttpServletRequest request, String eTag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !ifRangeMatches(request, eTag, lastModified)) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    // A Range is only honoured when If-Range (if sent) still matches the current representation
+    private boolean ifRangeMatches(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(eTag);
+        }
+        try {
+            long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return lastModified != -1 && lastModified / 1000 <= ifRangeDate / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
     }
 
     @GetMapping("/{imageId}")
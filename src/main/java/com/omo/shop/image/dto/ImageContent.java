@@ -0,0 +1,21 @@
+package com.omo.shop.image.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.core.io.Resource;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class ImageContent {
+    private final String fileName;
+    private final String fileType;
+    private final long size;
+    // null for legacy blob images, which have no stored hash
+    private final String contentHash;
+    // Max edge of the served derivative, null when the original is served
+    private final Integer derivativeSize;
+    private final Instant lastModified;
+    private final Resource resource;
+}
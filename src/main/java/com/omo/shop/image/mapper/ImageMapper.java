@@ -2,25 +2,40 @@ package com.omo.shop.image.mapper;
 
 import com.omo.shop.image.dto.ImageDto;
 import com.omo.shop.image.model.Image;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Service
-@RequiredArgsConstructor
 public class ImageMapper {
 
-    private final ModelMapper modelMapper;
-
     public ImageDto toDto(Image image) {
-        return modelMapper.map(image, ImageDto.class);
+        if (image == null) {
+            return null;
+        }
+        return ImageDto.builder()
+                .id(image.getId())
+                .fileName(image.getFileName())
+                .fileType(image.getFileType())
+                .downloadUrl(image.getDownloadUrl())
+                .build();
     }
 
+    // Never carries image bytes: content lives in the ImageStore
     public Image toEntity(ImageDto imageDto) {
-        Image image = modelMapper.map(imageDto, Image.class);
-        image.setImage(null);
-        return image;
+        if (imageDto == null) {
+            return null;
+        }
+        return Image.builder()
+                .id(imageDto.getId())
+                .fileName(imageDto.getFileName())
+                .fileType(imageDto.getFileType())
+                .downloadUrl(imageDto.getDownloadUrl())
+                .build();
     }
 
-
+    public List<ImageDto> toDtoList(List<Image> images) {
+        return images.stream().map(this::toDto).collect(Collectors.toList());
+    }
 }
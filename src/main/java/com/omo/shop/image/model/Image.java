@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.sql.Blob;
+import java.time.Instant;
 
 @Getter
 @Setter
@@ -12,14 +13,22 @@ import java.sql.Blob;
 @NoArgsConstructor
 @Builder
 @Entity
+@Table(indexes = @Index(name = "idx_image_content_hash", columnList = "content_hash"))
 public class Image {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "image_seq")
+    @SequenceGenerator(name = "image_seq", allocationSize = 50)
     private Long id;
     private String fileName;
     private String fileType;
+    // Legacy storage, only set for images uploaded before the ImageStore was introduced
     @Lob
     private Blob image;
+    // SHA-256 of the bytes held by the ImageStore
+    @Column(length = 64)
+    private String contentHash;
+    private Long fileSize;
+    private Instant lastModified;
     private String downloadUrl;
     @ManyToOne
     @JoinColumn(name = "product_id")
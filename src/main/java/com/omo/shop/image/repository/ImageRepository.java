@@ -2,6 +2,13 @@ package com.omo.shop.image.repository;
 
 import com.omo.shop.image.model.Image;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Set;
 
 public interface ImageRepository extends JpaRepository<Image,Long> {
+    @Query("SELECT DISTINCT i.contentHash FROM Image i WHERE i.contentHash IN :hashes")
+    Set<String> findContentHashesIn(@Param("hashes") Collection<String> hashes);
 }
@@ -1,5 +1,6 @@
 package com.omo.shop.image.service;
 
+import com.omo.shop.image.dto.ImageContent;
 import com.omo.shop.image.dto.ImageDto;
 import com.omo.shop.image.model.Image;
 import org.springframework.web.multipart.MultipartFile;
@@ -11,6 +12,9 @@ public interface IImageService {
 
     Image getImageEntityById(Long id);
 
+    // size selects a derivative (thumbnail), null serves the original
+    ImageContent getImageContent(Long id, Integer size);
+
     void deleteImageById(Long id);
 
     List<ImageDto> saveImages(List<MultipartFile> file, Long productId);
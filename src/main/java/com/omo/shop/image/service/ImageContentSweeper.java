@@ -0,0 +1,82 @@
+package com.omo.shop.image.service;
+
+import com.omo.shop.image.repository.ImageRepository;
+import com.omo.shop.image.store.ImageStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Deletes stored image content that no {@code Image} row references: content of deleted or replaced
+ * images, and files whose upload failed before its row was saved. Identical uploads share one file,
+ * so content is only removed once it has gone unused for the grace period, which also covers
+ * uploads that are stored but not yet saved to the database.
+ */
+@Slf4j
+@Component
+public class ImageContentSweeper {
+    private static final int BATCH_SIZE = 500;
+
+    private final ImageStore imageStore;
+    private final ImageRepository imageRepository;
+    private final Duration grace;
+
+    public ImageContentSweeper(ImageStore imageStore,
+                               ImageRepository imageRepository,
+                               @Value("${application.images.store.orphan-grace}") Duration grace) {
+        this.imageStore = imageStore;
+        this.imageRepository = imageRepository;
+        this.grace = grace;
+    }
+
+    @Scheduled(fixedDelayString = "${application.images.store.sweep-interval-ms}")
+    public void sweep() {
+        Instant cutoff = Instant.now().minus(grace);
+        int deleted = 0;
+        try (Stream<String> hashes = imageStore.contentHashesNotModifiedSince(cutoff)) {
+            Iterator<String> iterator = hashes.iterator();
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == BATCH_SIZE || !iterator.hasNext()) {
+                    deleted += deleteUnreferenced(batch, cutoff);
+                    batch.clear();
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Image content sweep stopped early", e);
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} unreferenced stored images", deleted);
+        }
+    }
+
+    private int deleteUnreferenced(List<String> hashes, Instant cutoff) {
+        Set<String> referenced = imageRepository.findContentHashesIn(hashes);
+        int deleted = 0;
+        for (String hash : hashes) {
+            if (referenced.contains(hash)) {
+                continue;
+            }
+            try {
+                if (imageStore.deleteIfNotModifiedSince(hash, cutoff)) {
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.warn("Failed to delete stored image {}", hash, e);
+            }
+        }
+        return deleted;
+    }
+}
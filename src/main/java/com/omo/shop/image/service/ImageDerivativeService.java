@@ -0,0 +1,111 @@
+package com.omo.shop.image.service;
+
+import com.omo.shop.image.store.ImageStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageDerivativeService {
+    private final ImageStore imageStore;
+
+    // Max edge in pixels of each derivative, e.g. 200,400,800
+    @Value("${application.images.derivatives.sizes}")
+    private int[] sizes;
+
+    @Async("imageDerivativeExecutor")
+    public void generateDerivatives(String contentHash, String fileType) {
+        if (contentHash == null || fileType == null
+                || Arrays.stream(sizes).allMatch(size -> imageStore.hasDerivative(contentHash, size))) {
+            return;
+        }
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByMIMEType(fileType);
+        if (!writers.hasNext()) {
+            log.debug("No ImageIO writer for {}, serving originals only", fileType);
+            return;
+        }
+        ImageWriter writer = writers.next();
+        try {
+            BufferedImage original;
+            try (InputStream in = imageStore.load(contentHash).getInputStream()) {
+                original = ImageIO.read(in);
+            }
+            if (original == null) {
+                return;
+            }
+            for (int size : sizes) {
+                // Never upscale, requests for larger sizes fall back to the original
+                if (Math.max(original.getWidth(), original.getHeight()) <= size
+                        || imageStore.hasDerivative(contentHash, size)) {
+                    continue;
+                }
+                byte[] encoded = encode(writer, scale(original, size));
+                imageStore.saveDerivative(contentHash, size, new ByteArrayInputStream(encoded));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to generate derivatives for image {}", contentHash, e);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Picks the smallest configured size that covers the requested one.
+     */
+    public OptionalInt resolveSize(int requested) {
+        return Arrays.stream(sizes)
+                .filter(size -> size >= requested)
+                .min();
+    }
+
+    public Optional<Resource> findDerivative(String contentHash, int size) {
+        return imageStore.loadDerivative(contentHash, size);
+    }
+
+    private BufferedImage scale(BufferedImage original, int maxEdge) {
+        double ratio = (double) maxEdge / Math.max(original.getWidth(), original.getHeight());
+        int width = Math.max(1, (int) Math.round(original.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(original.getHeight() * ratio));
+        int type = original.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private byte[] encode(ImageWriter writer, BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            writer.write(image);
+        }
+        return out.toByteArray();
+    }
+}
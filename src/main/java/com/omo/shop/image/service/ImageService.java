@@ -1,33 +1,47 @@
 package com.omo.shop.image.service;
 
 import com.omo.shop.common.exceptions.ResourceNotFoundException;
+import com.omo.shop.image.dto.ImageContent;
 import com.omo.shop.image.dto.ImageDto;
 import com.omo.shop.image.mapper.ImageMapper;
 import com.omo.shop.image.model.Image;
 import com.omo.shop.image.repository.ImageRepository;
+import com.omo.shop.image.store.ImageStore;
+import com.omo.shop.image.store.StoredImage;
 import com.omo.shop.product.dto.ProductDto;
 import com.omo.shop.product.mapper.ProductMapper;
 import com.omo.shop.product.service.IProductService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.sql.rowset.serial.SerialBlob;
 import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Blob;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
 
 import static com.omo.shop.common.constants.ExceptionMessages.IMAGE_NOT_FOUND;
 
 @Service
 @RequiredArgsConstructor
 public class ImageService implements IImageService {
+    private static final String DOWNLOAD_URL = "/api/v1/images/download/";
+
     private final ImageRepository imageRepository;
     private final IProductService productService;
     private final ProductMapper productMapper;
     private final ImageMapper imageMapper;
+    private final ImageStore imageStore;
+    private final ImageDerivativeService derivativeService;
 
     @Override
     public ImageDto getImageById(Long id) {
@@ -45,32 +59,87 @@ public class ImageService implements IImageService {
         );
     }
 
+    @Override
+    public ImageContent getImageContent(Long id, Integer size) {
+        Image image = getImageEntityById(id);
+        if (image.getContentHash() != null) {
+            if (size != null) {
+                Optional<ImageContent> derivative = findDerivativeContent(image, size);
+                if (derivative.isPresent()) {
+                    return derivative.get();
+                }
+            }
+            Resource resource = imageStore.load(image.getContentHash());
+            return new ImageContent(image.getFileName(), image.getFileType(), sizeOf(image, resource),
+                    image.getContentHash(), null, image.getLastModified(), resource);
+        }
+
+        // Images uploaded before the ImageStore still carry their bytes in the blob column
+        Blob blob = image.getImage();
+        if (blob == null) {
+            throw new ResourceNotFoundException(IMAGE_NOT_FOUND);
+        }
+        try {
+            return new ImageContent(image.getFileName(), image.getFileType(), blob.length(),
+                    null, null, image.getLastModified(), new InputStreamResource(blob.getBinaryStream()));
+        } catch (SQLException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    // Falls back to the original when no configured size fits or the derivative is not generated yet
+    private Optional<ImageContent> findDerivativeContent(Image image, int requestedSize) {
+        OptionalInt derivativeSize = derivativeService.resolveSize(requestedSize);
+        if (derivativeSize.isEmpty()) {
+            return Optional.empty();
+        }
+        return derivativeService.findDerivative(image.getContentHash(), derivativeSize.getAsInt())
+                .map(resource -> new ImageContent(image.getFileName(), image.getFileType(),
+                        contentLength(resource), image.getContentHash(), derivativeSize.getAsInt(),
+                        image.getLastModified(), resource));
+    }
+
+    private long sizeOf(Image image, Resource resource) {
+        return image.getFileSize() != null ? image.getFileSize() : contentLength(resource);
+    }
+
+    private long contentLength(Resource resource) {
+        try {
+            return resource.contentLength();
+        } catch (IOException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    // Stored content is left for ImageContentSweeper, which removes it once no image references it
     @Override
     public void deleteImageById(Long id) {
         imageRepository.deleteById(id);
     }
 
     @Override
+    @Timed("shop.images.save")
     public List<ImageDto> saveImages(List<MultipartFile> files, Long productId) {
         ProductDto productDto = productService.getProductById(productId);
         List<ImageDto> savedImageDto = new ArrayList<>();
         for (MultipartFile file : files) {
-            try {
-                String buildDownloadUrl = "/api/v1/images/image/download/";
+            try (InputStream content = file.getInputStream()) {
+                StoredImage stored = imageStore.save(content);
                 Image image = Image.builder()
                         .fileName(file.getOriginalFilename())
                         .fileType(file.getContentType())
-                        .image(new SerialBlob(file.getBytes()))
+                        .contentHash(stored.getContentHash())
+                        .fileSize(stored.getSize())
+                        .lastModified(Instant.now())
                         .product(productMapper.toEntity(productDto))
                         .build();
-                String downloadUrl = buildDownloadUrl + image.getId();
-                image.setDownloadUrl(downloadUrl);
                 Image savedImage = imageRepository.save(image);
-                savedImage.setDownloadUrl(buildDownloadUrl + savedImage.getId());
+                savedImage.setDownloadUrl(buildDownloadUrl(savedImage));
                 imageRepository.save(savedImage);
-                ImageDto imageDto = imageMapper.toDto(image);
+                derivativeService.generateDerivatives(stored.getContentHash(), file.getContentType());
+                ImageDto imageDto = imageMapper.toDto(savedImage);
                 savedImageDto.add(imageDto);
-            } catch (IOException | SQLException e) {
+            } catch (IOException e) {
                 throw new RuntimeException(e.getMessage());
             }
         }
@@ -79,17 +148,28 @@ public class ImageService implements IImageService {
 
     @Override
     public void updateImage(MultipartFile file, Long imageId) {
-        Image image = imageMapper.toEntity(getImageById(imageId));
-        try {
+        Image image = getImageEntityById(imageId);
+        try (InputStream content = file.getInputStream()) {
+            StoredImage stored = imageStore.save(content);
             image.setFileName(file.getOriginalFilename());
             image.setFileType(file.getContentType());
-            image.setImage(new SerialBlob((file.getBytes())));
+            image.setContentHash(stored.getContentHash());
+            image.setFileSize(stored.getSize());
+            image.setLastModified(Instant.now());
+            image.setImage(null);
+            image.setDownloadUrl(buildDownloadUrl(image));
             imageRepository.save(image);
-        } catch (IOException | SQLException e) {
+            derivativeService.generateDerivatives(stored.getContentHash(), file.getContentType());
+        } catch (IOException e) {
             throw new RuntimeException();
         }
     }
 
+    // The content hash versions the URL, so clients may cache it as immutable
+    private String buildDownloadUrl(Image image) {
+        return DOWNLOAD_URL + image.getId() + "?v=" + image.getContentHash();
+    }
+
     @Override
     public byte[] decodeBase64ToBytes(String base64String) {
         return Base64.getDecoder().decode(base64String);
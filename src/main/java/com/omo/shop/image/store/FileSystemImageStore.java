@@ -0,0 +1,187 @@
+package com.omo.shop.image.store;
+
+import com.omo.shop.common.exceptions.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static com.omo.shop.common.constants.ExceptionMessages.IMAGE_NOT_FOUND;
+
+/**
+ * Stores images under {@code <root>/ab/cd/<sha256>} and their derivatives as {@code <sha256>_<size>}
+ * in the same directory. Uploads are streamed to a temp file while hashing and then atomically
+ * renamed into place, or dropped if the content already exists.
+ * <p>
+ * A file's modification time records when it was last uploaded, including deduplicated uploads,
+ * so a sweep can tell content that is about to be referenced from content nobody uses. Saving and
+ * deleting the same hash are serialized by a striped lock.
+ */
+@Slf4j
+@Component
+public class FileSystemImageStore implements ImageStore {
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path root;
+    private final Path tempDir;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public FileSystemImageStore(@Value("${application.images.store.root}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.tempDir = this.root.resolve("tmp");
+        try {
+            Files.createDirectories(tempDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create image store at " + this.root, e);
+        }
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public StoredImage save(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            Path target = resolve(contentHash);
+            ReentrantLock lock = lockFor(contentHash);
+            lock.lock();
+            try {
+                if (Files.exists(target)) {
+                    Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                    log.debug("Deduplicated image upload {}", contentHash);
+                } else {
+                    moveIntoPlace(temp, target);
+                }
+            } finally {
+                lock.unlock();
+            }
+            return new StoredImage(contentHash, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Resource load(String contentHash) {
+        Path file = resolve(contentHash);
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException(IMAGE_NOT_FOUND);
+        }
+        return new FileSystemResource(file);
+    }
+
+    @Override
+    public void saveDerivative(String contentHash, int size, InputStream content) throws IOException {
+        Path temp = Files.createTempFile(tempDir, "derivative-", ".part");
+        try {
+            try (InputStream in = content) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            moveIntoPlace(temp, resolveDerivative(contentHash, size));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Optional<Resource> loadDerivative(String contentHash, int size) {
+        Path file = resolveDerivative(contentHash, size);
+        return Files.isRegularFile(file) ? Optional.of(new FileSystemResource(file)) : Optional.empty();
+    }
+
+    @Override
+    public boolean hasDerivative(String contentHash, int size) {
+        return Files.isRegularFile(resolveDerivative(contentHash, size));
+    }
+
+    @Override
+    public Stream<String> contentHashesNotModifiedSince(Instant cutoff) throws IOException {
+        // Originals sit at <root>/ab/cd/<hash>; derivatives and temp files don't match the name pattern
+        return Files.find(root, 3, (path, attributes) -> attributes.isRegularFile()
+                        && SHA256_HEX.matcher(path.getFileName().toString()).matches()
+                        && attributes.lastModifiedTime().toInstant().isBefore(cutoff))
+                .map(path -> path.getFileName().toString());
+    }
+
+    @Override
+    public boolean deleteIfNotModifiedSince(String contentHash, Instant cutoff) throws IOException {
+        Path original = resolve(contentHash);
+        ReentrantLock lock = lockFor(contentHash);
+        lock.lock();
+        try {
+            if (!Files.isRegularFile(original)
+                    || !Files.getLastModifiedTime(original).toInstant().isBefore(cutoff)) {
+                return false;
+            }
+            Files.deleteIfExists(original);
+            try (DirectoryStream<Path> derivatives =
+                         Files.newDirectoryStream(original.getParent(), contentHash + "_*")) {
+                for (Path derivative : derivatives) {
+                    Files.deleteIfExists(derivative);
+                }
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // A concurrent write of the same content won the race, which is fine
+        }
+    }
+
+    private ReentrantLock lockFor(String contentHash) {
+        return locks[Math.floorMod(contentHash.hashCode(), LOCK_STRIPES)];
+    }
+
+    private Path resolve(String contentHash) {
+        if (contentHash == null || !SHA256_HEX.matcher(contentHash).matches()) {
+            throw new IllegalArgumentException("Invalid content hash: " + contentHash);
+        }
+        return root.resolve(contentHash.substring(0, 2))
+                .resolve(contentHash.substring(2, 4))
+                .resolve(contentHash);
+    }
+
+    private Path resolveDerivative(String contentHash, int size) {
+        Path original = resolve(contentHash);
+        return original.resolveSibling(contentHash + "_" + size);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
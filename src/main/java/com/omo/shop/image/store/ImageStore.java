@@ -0,0 +1,41 @@
+package com.omo.shop.image.store;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed storage for image bytes. Content is keyed by its SHA-256 hash,
+ * so identical uploads share a single stored copy.
+ */
+public interface ImageStore {
+
+    StoredImage save(InputStream content) throws IOException;
+
+    Resource load(String contentHash);
+
+    // Derivatives (e.g. thumbnails) are stored next to their original, keyed by its hash and max edge
+    void saveDerivative(String contentHash, int size, InputStream content) throws IOException;
+
+    Optional<Resource> loadDerivative(String contentHash, int size);
+
+    boolean hasDerivative(String contentHash, int size);
+
+    /**
+     * Hashes of stored originals last written or deduplicated onto before {@code cutoff}.
+     * The stream must be closed.
+     */
+    Stream<String> contentHashesNotModifiedSince(Instant cutoff) throws IOException;
+
+    /**
+     * Removes the original together with all of its derivatives, unless it was written or
+     * deduplicated onto at or after {@code cutoff}. Checked atomically with {@link #save}.
+     *
+     * @return whether the content was deleted
+     */
+    boolean deleteIfNotModifiedSince(String contentHash, Instant cutoff) throws IOException;
+}
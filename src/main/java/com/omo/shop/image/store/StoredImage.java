@@ -0,0 +1,11 @@
+package com.omo.shop.image.store;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StoredImage {
+    private final String contentHash;
+    private final long size;
+}
@@ -0,0 +1,59 @@
+package com.omo.shop.image.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class ResourceTransferUtil {
+    // Tomcat's sendfile contract, see org.apache.coyote.Constants
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Writes {@code length} bytes of {@code resource} starting at {@code start} to the response.
+     * Files go through sendfile when the connector supports it and {@link FileChannel#transferTo}
+     * otherwise; other resources are copied through a fixed-size buffer.
+     */
+    public static void transfer(Resource resource, long start, long length,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (length <= 0) {
+            return;
+        }
+        if (resource.isFile()) {
+            Path file = resource.getFile().toPath();
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+                request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, start + length);
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+                long position = start;
+                long end = start + length;
+                while (position < end) {
+                    long transferred = channel.transferTo(position, end - position, out);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    position += transferred;
+                }
+            }
+            return;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            StreamUtils.copyRange(in, response.getOutputStream(), start, start + length - 1);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.omo.shop.inventory.dto;
+
+public interface ProductInventory {
+    Long getId();
+
+    int getInventory();
+}
@@ -0,0 +1,36 @@
+package com.omo.shop.inventory.service;
+
+import com.omo.shop.common.exceptions.InsufficientStockException;
+import com.omo.shop.product.repository.ProductRepository;
+import io.micrometer.core.annotation.Counted;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.omo.shop.common.constants.ExceptionMessages.INSUFFICIENT_STOCK;
+
+/**
+ * Decrements stock directly in the database, one conditional UPDATE per product.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "application.inventory.reservation.enabled", havingValue = "false", matchIfMissing = true)
+public class DatabaseInventoryService implements IInventoryService {
+    private final ProductRepository productRepository;
+
+    @Transactional
+    @Override
+    @Counted(value = "shop.inventory.reserve.failures", recordFailuresOnly = true)
+    public void reserve(Map<Long, Integer> quantities) {
+        // Decrement in product id order so concurrent checkouts lock rows in the same order
+        new TreeMap<>(quantities).forEach((productId, quantity) -> {
+            if (productRepository.decrementInventory(productId, quantity) == 0) {
+                throw new InsufficientStockException(INSUFFICIENT_STOCK + productId);
+            }
+        });
+    }
+}
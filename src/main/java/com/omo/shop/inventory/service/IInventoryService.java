@@ -0,0 +1,14 @@
+package com.omo.shop.inventory.service;
+
+import java.util.Map;
+
+public interface IInventoryService {
+
+    /**
+     * Takes the requested quantity (product id to quantity) for every product, or nothing at all.
+     * When called inside a transaction the stock is given back if that transaction rolls back.
+     *
+     * @throws com.omo.shop.common.exceptions.InsufficientStockException if any product is short
+     */
+    void reserve(Map<Long, Integer> quantities);
+}
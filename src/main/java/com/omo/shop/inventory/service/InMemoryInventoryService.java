@@ -0,0 +1,278 @@
+package com.omo.shop.inventory.service;
+
+import com.omo.shop.common.exceptions.InsufficientStockException;
+import com.omo.shop.inventory.dto.ProductInventory;
+import com.omo.shop.product.model.Product;
+import com.omo.shop.product.repository.ProductRepository;
+import io.micrometer.core.annotation.Counted;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static com.omo.shop.common.constants.ExceptionMessages.INSUFFICIENT_STOCK;
+
+/**
+ * Keeps available stock in memory so checkouts of hot products don't queue on database row locks.
+ * Sold quantities are written back to the database in batches by {@link #flush()}, and
+ * {@link #reconcile()} reloads the database value to pick up changes made elsewhere.
+ * <p>
+ * The ledger is only authoritative within one JVM, so enable it for single-instance deployments only.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "application.inventory.reservation.enabled", havingValue = "true")
+public class InMemoryInventoryService implements IInventoryService {
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration holdTtl;
+    private final int batchSize;
+
+    private final ReentrantLock[] stripes;
+    private final Map<Long, Ledger> ledgers = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> holds = new ConcurrentHashMap<>();
+    // Flush and reconcile both compare the database with pending deltas, so they never overlap
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+
+    public InMemoryInventoryService(ProductRepository productRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${application.inventory.reservation.hold-ttl}") Duration holdTtl,
+                                    @Value("${application.inventory.reservation.batch-size}") int batchSize,
+                                    @Value("${application.inventory.reservation.lock-stripes}") int lockStripes) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.holdTtl = holdTtl;
+        this.batchSize = batchSize;
+        this.stripes = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    @Counted(value = "shop.inventory.reserve.failures", recordFailuresOnly = true)
+    public void reserve(Map<Long, Integer> quantities) {
+        Reservation reservation = new Reservation(
+                UUID.randomUUID().toString(), new TreeMap<>(quantities), Instant.now().plus(holdTtl));
+
+        Map<Long, Integer> taken = new TreeMap<>();
+        for (Map.Entry<Long, Integer> entry : reservation.quantities().entrySet()) {
+            if (!hold(entry.getKey(), entry.getValue())) {
+                taken.forEach(this::giveBack);
+                throw new InsufficientStockException(INSUFFICIENT_STOCK + entry.getKey());
+            }
+            taken.put(entry.getKey(), entry.getValue());
+        }
+        holds.put(reservation.id(), reservation);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        confirm(reservation);
+                    } else {
+                        release(reservation);
+                    }
+                }
+            });
+        } else {
+            confirm(reservation);
+        }
+    }
+
+    /**
+     * Writes the quantities sold since the last flush to the database, one transaction per batch.
+     * A failed batch is put back and retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${application.inventory.reservation.flush-interval-ms}")
+    @PreDestroy
+    public void flush() {
+        maintenanceLock.lock();
+        try {
+            List<Map.Entry<Long, Integer>> deltas = new ArrayList<>(drainPending().entrySet());
+            for (int from = 0; from < deltas.size(); from += batchSize) {
+                List<Map.Entry<Long, Integer>> batch = deltas.subList(from, Math.min(from + batchSize, deltas.size()));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> batch.forEach(delta ->
+                            productRepository.subtractInventory(delta.getKey(), delta.getValue())));
+                } catch (RuntimeException e) {
+                    log.error("Failed to flush inventory for {} products, will retry", batch.size(), e);
+                    batch.forEach(delta -> withLedger(delta.getKey(), ledger -> ledger.pending += delta.getValue()));
+                }
+            }
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        maintenanceLock.lock();
+        try {
+            productRepository.findAllInventory().forEach(this::applyTruth);
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    /**
+     * Resets available stock of every tracked product to database stock minus open holds and unflushed sales.
+     */
+    @Scheduled(fixedDelayString = "${application.inventory.reservation.reconcile-interval-ms}")
+    public void reconcile() {
+        maintenanceLock.lock();
+        try {
+            List<Long> productIds = new ArrayList<>(ledgers.keySet());
+            for (int from = 0; from < productIds.size(); from += batchSize) {
+                List<Long> batch = productIds.subList(from, Math.min(from + batchSize, productIds.size()));
+                productRepository.findInventoryByIdIn(batch).forEach(this::applyTruth);
+            }
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.inventory.reservation.expiry-interval-ms}")
+    public void releaseExpiredHolds() {
+        Instant now = Instant.now();
+        holds.values().stream()
+                .filter(reservation -> reservation.expiresAt().isBefore(now))
+                .forEach(reservation -> {
+                    if (holds.remove(reservation.id(), reservation)) {
+                        log.warn("Inventory hold {} expired, returning stock", reservation.id());
+                        reservation.quantities().forEach(this::giveBack);
+                    }
+                });
+    }
+
+    int available(Long productId) {
+        Ledger ledger = ledgerFor(productId);
+        ReentrantLock lock = stripeFor(productId);
+        lock.lock();
+        try {
+            return ledger.available;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void confirm(Reservation reservation) {
+        boolean held = holds.remove(reservation.id()) != null;
+        if (!held) {
+            // The hold expired before the order committed; the sale still happened
+            log.warn("Inventory hold {} expired before confirmation", reservation.id());
+        }
+        reservation.quantities().forEach((productId, quantity) -> withLedger(productId, ledger -> {
+            if (held) {
+                ledger.held -= quantity;
+            } else {
+                ledger.available -= quantity;
+            }
+            ledger.pending += quantity;
+        }));
+    }
+
+    private void release(Reservation reservation) {
+        if (holds.remove(reservation.id()) != null) {
+            reservation.quantities().forEach(this::giveBack);
+        }
+    }
+
+    private boolean hold(Long productId, int quantity) {
+        Ledger ledger = ledgerFor(productId);
+        ReentrantLock lock = stripeFor(productId);
+        lock.lock();
+        try {
+            if (ledger.available < quantity) {
+                return false;
+            }
+            ledger.available -= quantity;
+            ledger.held += quantity;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void giveBack(Long productId, int quantity) {
+        withLedger(productId, ledger -> {
+            ledger.held -= quantity;
+            ledger.available += quantity;
+        });
+    }
+
+    private Map<Long, Integer> drainPending() {
+        Map<Long, Integer> deltas = new TreeMap<>();
+        ledgers.keySet().forEach(productId -> withLedger(productId, ledger -> {
+            if (ledger.pending != 0) {
+                deltas.put(productId, ledger.pending);
+                ledger.pending = 0;
+            }
+        }));
+        return deltas;
+    }
+
+    private void applyTruth(ProductInventory row) {
+        ledgers.computeIfAbsent(row.getId(), id -> new Ledger(row.getInventory()));
+        withLedger(row.getId(), ledger -> ledger.available = row.getInventory() - ledger.held - ledger.pending);
+    }
+
+    private Ledger ledgerFor(Long productId) {
+        Ledger ledger = ledgers.get(productId);
+        if (ledger != null) {
+            return ledger;
+        }
+        int inventory = productRepository.findById(productId).map(Product::getInventory).orElse(0);
+        return ledgers.computeIfAbsent(productId, id -> new Ledger(inventory));
+    }
+
+    private void withLedger(Long productId, Consumer<Ledger> action) {
+        Ledger ledger = ledgerFor(productId);
+        ReentrantLock lock = stripeFor(productId);
+        lock.lock();
+        try {
+            action.accept(ledger);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock stripeFor(Long productId) {
+        return stripes[Math.floorMod(productId.hashCode(), stripes.length)];
+    }
+
+    /**
+     * Stock counters of one product, guarded by its lock stripe.
+     */
+    private static final class Ledger {
+        private int available;
+        private int held;
+        private int pending;
+
+        private Ledger(int available) {
+            this.available = available;
+        }
+    }
+
+    private record Reservation(String id, Map<Long, Integer> quantities, Instant expiresAt) {
+    }
+}
@@ -1,18 +1,24 @@
 package com.omo.shop.order.controller;
 
+import com.omo.shop.common.exceptions.IdempotencyKeyConflictException;
 import com.omo.shop.common.exceptions.InsufficientStockException;
 import com.omo.shop.common.exceptions.ResourceNotFoundException;
+import com.omo.shop.common.pagination.CursorPage;
 import com.omo.shop.common.response.ApiResponse;
 import com.omo.shop.order.dto.OrderDto;
 import com.omo.shop.order.service.IOrderService;
+import com.omo.shop.order.service.OrderIdempotencyService;
 import com.omo.shop.user.model.User;
 import com.omo.shop.user.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
@@ -21,15 +27,23 @@ import static org.springframework.http.HttpStatus.NOT_FOUND;
 @RequestMapping("${api.prefix}/orders")
 public class OrderController {
     private final IOrderService orderService;
+    private final OrderIdempotencyService orderIdempotencyService;
     private final UserService userService;
 
     @PostMapping("/place-order")
-    public ResponseEntity<ApiResponse> createOrder(@RequestParam Long addressId) {
+    public ResponseEntity<ApiResponse> createOrder(
+            @RequestParam Long addressId,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
             User user = userService.getAuthenticatedUser();
-            OrderDto orderDto = orderService.placeOrder(user.getId(), addressId);
+            OrderDto orderDto = idempotencyKey == null
+                    ? orderService.placeOrder(user.getId(), addressId)
+                    : orderIdempotencyService.placeOrder(user.getId(), addressId, idempotencyKey);
             return ResponseEntity.ok(new ApiResponse("Success", orderDto));
-        } catch (InsufficientStockException e) {
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(BAD_REQUEST)
+                    .body(new ApiResponse(e.getMessage(), BAD_REQUEST));
+        } catch (IdempotencyKeyConflictException | InsufficientStockException e) {
             return ResponseEntity.status(CONFLICT)
                     .body(new ApiResponse(e.getMessage(), CONFLICT));
         } catch (ResourceNotFoundException e) {
@@ -49,9 +63,29 @@ public class OrderController {
         }
     }
 
+    /**
+     * @deprecated returns the whole history, use {@code GET /orders/{userId}/history} instead.
+     */
+    @Deprecated
     @GetMapping("/{userId}/orders")
     public ResponseEntity<ApiResponse> getUserOrders(@PathVariable Long userId) {
         List<OrderDto> orderDtoList = orderService.getUserOrders(userId);
         return ResponseEntity.ok(new ApiResponse("Success", orderDtoList));
     }
+
+    @GetMapping("/{userId}/history")
+    public ResponseEntity<ApiResponse> getUserOrderHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        try {
+            CursorPage<OrderDto> page = orderService.getUserOrderHistory(userId, cursor, size, from, to);
+            return ResponseEntity.ok(new ApiResponse("Success", page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(BAD_REQUEST).body(new ApiResponse(e.getMessage(), null));
+        }
+    }
 }
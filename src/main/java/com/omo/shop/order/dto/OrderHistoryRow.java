@@ -0,0 +1,29 @@
+package com.omo.shop.order.dto;
+
+import com.omo.shop.order.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row per order item (or per order without items) of the flat order history query.
+ */
+public interface OrderHistoryRow {
+    Long getOrderId();
+
+    Long getUserId();
+
+    LocalDateTime getOrderDataTime();
+
+    BigDecimal getTotalPrice();
+
+    OrderStatus getOrderStatus();
+
+    Long getItemId();
+
+    Long getProductId();
+
+    BigDecimal getPrice();
+
+    Integer getQuantity();
+}
@@ -0,0 +1,12 @@
+package com.omo.shop.order.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset position of an order in a user's history.
+ */
+public interface OrderKey {
+    Long getOrderId();
+
+    LocalDateTime getOrderDataTime();
+}
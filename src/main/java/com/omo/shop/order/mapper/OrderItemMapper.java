@@ -2,24 +2,38 @@ package com.omo.shop.order.mapper;
 
 import com.omo.shop.order.dto.OrderItemDto;
 import com.omo.shop.order.model.OrderItem;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import com.omo.shop.product.model.Product;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class OrderItemMapper {
-    private final ModelMapper modelMapper;
 
     public OrderItemDto toDto(OrderItem order) {
-        return modelMapper.map(order, OrderItemDto.class);
+        if (order == null) {
+            return null;
+        }
+        return new OrderItemDto(
+                order.getId(),
+                order.getProduct() == null ? null : order.getProduct().getId(),
+                order.getPrice(),
+                order.getQuantity());
     }
 
     public OrderItem toEntity(OrderItemDto orderItemDto) {
-        return modelMapper.map(orderItemDto, OrderItem.class);
+        if (orderItemDto == null) {
+            return null;
+        }
+        return OrderItem.builder()
+                .id(orderItemDto.getId())
+                .product(orderItemDto.getProductId() == null
+                        ? null
+                        : Product.builder().id(orderItemDto.getProductId()).build())
+                .price(orderItemDto.getPrice())
+                .quantity(orderItemDto.getQuantity())
+                .build();
     }
 
     public List<OrderItemDto> toDtoList(List<OrderItem> orderItems) {
@@ -1,28 +1,90 @@
 package com.omo.shop.order.mapper;
 
 import com.omo.shop.order.dto.OrderDto;
+import com.omo.shop.order.dto.OrderHistoryRow;
+import com.omo.shop.order.dto.OrderItemDto;
+import com.omo.shop.order.enums.OrderStatus;
 import com.omo.shop.order.model.Order;
+import com.omo.shop.order.model.OrderItem;
+import com.omo.shop.user.model.User;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class OrderMapper {
-    private final ModelMapper modelMapper;
+    private final OrderItemMapper orderItemMapper;
 
     public OrderDto toDto(Order order) {
-        return modelMapper.map(order, OrderDto.class);
+        if (order == null) {
+            return null;
+        }
+        return OrderDto.builder()
+                .orderId(order.getOrderId())
+                .userId(order.getUser() == null ? null : order.getUser().getId())
+                .orderDataTime(order.getOrderDataTime())
+                .totalPrice(order.getTotalPrice())
+                .orderStatus(order.getOrderStatus() == null ? null : order.getOrderStatus().toString())
+                .orderItems(order.getOrderItems() == null ? null : order.getOrderItems()
+                        .stream()
+                        .map(orderItemMapper::toDto)
+                        .collect(Collectors.toSet()))
+                .build();
     }
 
     public Order toEntity(OrderDto orderDto) {
-        return modelMapper.map(orderDto, Order.class);
+        if (orderDto == null) {
+            return null;
+        }
+        Order order = Order.builder()
+                .orderId(orderDto.getOrderId())
+                .user(orderDto.getUserId() == null ? null : User.builder().id(orderDto.getUserId()).build())
+                .orderDataTime(orderDto.getOrderDataTime())
+                .totalPrice(orderDto.getTotalPrice())
+                .orderStatus(orderDto.getOrderStatus() == null ? null : OrderStatus.valueOf(orderDto.getOrderStatus()))
+                .orderItems(new HashSet<>())
+                .build();
+        if (orderDto.getOrderItems() != null) {
+            orderDto.getOrderItems().forEach(itemDto -> {
+                OrderItem item = orderItemMapper.toEntity(itemDto);
+                item.setOrder(order);
+                order.getOrderItems().add(item);
+            });
+        }
+        return order;
     }
 
     public List<OrderDto> toDtoList(List<Order> orders) {
         return orders.stream().map(this::toDto).collect(Collectors.toList());
     }
+
+    /**
+     * Groups the rows of the flat history query back into orders, keeping the query's order.
+     */
+    public List<OrderDto> toDtoListFromRows(List<OrderHistoryRow> rows) {
+        Map<Long, OrderDto> orders = new LinkedHashMap<>();
+        for (OrderHistoryRow row : rows) {
+            OrderDto order = orders.computeIfAbsent(row.getOrderId(), orderId -> OrderDto.builder()
+                    .orderId(orderId)
+                    .userId(row.getUserId())
+                    .orderDataTime(row.getOrderDataTime())
+                    .totalPrice(row.getTotalPrice())
+                    .orderStatus(row.getOrderStatus().toString())
+                    .orderItems(new LinkedHashSet<>())
+                    .build());
+            if (row.getItemId() != null) {
+                order.getOrderItems().add(new OrderItemDto(
+                        row.getItemId(), row.getProductId(), row.getPrice(), row.getQuantity()));
+            }
+        }
+        return new ArrayList<>(orders.values());
+    }
 }
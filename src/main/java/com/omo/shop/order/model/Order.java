@@ -18,12 +18,12 @@ import java.util.Set;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "orders")
+@Table(name = "orders",
+        indexes = @Index(name = "idx_orders_user_date", columnList = "user_id, order_data_time"))
 public class Order {
     @Id
-    @GeneratedValue(
-            strategy = GenerationType.IDENTITY
-    )
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", allocationSize = 50)
     private Long orderId;
     private LocalDateTime orderDataTime;
     private BigDecimal totalPrice;
@@ -0,0 +1,31 @@
+package com.omo.shop.order.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "order_idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_order_idempotency_user_key",
+                columnNames = {"user_id", "idempotency_key"}))
+public class OrderIdempotencyKey {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_idempotency_keys_seq")
+    @SequenceGenerator(name = "order_idempotency_keys_seq", allocationSize = 50)
+    private Long id;
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+    private Long addressId;
+    // Null while the first request holding the key is still placing the order
+    private Long orderId;
+    private Instant createdAt;
+}
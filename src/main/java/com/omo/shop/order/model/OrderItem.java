@@ -14,9 +14,8 @@ import java.math.BigDecimal;
 @Entity
 public class OrderItem {
     @Id
-    @GeneratedValue(
-            strategy = GenerationType.IDENTITY
-    )
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", allocationSize = 50)
     private Long id;
     @ManyToOne
     @JoinColumn(name = "order_id")
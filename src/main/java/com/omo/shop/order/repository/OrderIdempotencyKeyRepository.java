@@ -0,0 +1,31 @@
+package com.omo.shop.order.repository;
+
+import com.omo.shop.order.model.OrderIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, Long> {
+    Optional<OrderIdempotencyKey> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderIdempotencyKey k SET k.orderId = :orderId WHERE k.id = :id")
+    int recordOrder(@Param("id") Long id, @Param("orderId") Long orderId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderIdempotencyKey k SET k.createdAt = :now " +
+            "WHERE k.id = :id AND k.orderId IS NULL AND k.createdAt < :cutoff")
+    int takeOverStaleClaim(@Param("id") Long id, @Param("cutoff") Instant cutoff, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OrderIdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -1,12 +1,62 @@
 package com.omo.shop.order.repository;
 
+import com.omo.shop.order.dto.OrderHistoryRow;
+import com.omo.shop.order.dto.OrderKey;
 import com.omo.shop.order.model.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserId(Long userId);
 
     List<Order> findOrdersByUserId(Long userId);
+
+    // Loads the order, its items and their products in one statement
+    @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.product"})
+    Optional<Order> findWithItemsByOrderId(Long orderId);
+
+    // Flat history: reads only the columns OrderDto needs, without loading any entity
+    @Query("SELECT o.orderId AS orderId, o.user.id AS userId, o.orderDataTime AS orderDataTime, " +
+            "o.totalPrice AS totalPrice, o.orderStatus AS orderStatus, i.id AS itemId, " +
+            "i.product.id AS productId, i.price AS price, i.quantity AS quantity " +
+            "FROM Order o LEFT JOIN o.orderItems i " +
+            "WHERE o.user.id = :userId " +
+            "ORDER BY o.orderDataTime DESC, o.orderId DESC, i.id ASC")
+    List<OrderHistoryRow> findOrderHistoryRows(@Param("userId") Long userId);
+
+    @Query("SELECT o.orderId AS orderId, o.orderDataTime AS orderDataTime FROM Order o " +
+            "WHERE o.user.id = :userId AND o.orderDataTime >= :from AND o.orderDataTime < :to " +
+            "ORDER BY o.orderDataTime DESC, o.orderId DESC")
+    List<OrderKey> findOrderKeys(@Param("userId") Long userId,
+                                 @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to,
+                                 Limit limit);
+
+    // Seek past (orderDataTime, orderId) instead of OFFSET so deep pages cost the same as the first
+    @Query("SELECT o.orderId AS orderId, o.orderDataTime AS orderDataTime FROM Order o " +
+            "WHERE o.user.id = :userId AND o.orderDataTime >= :from AND o.orderDataTime < :to " +
+            "AND (o.orderDataTime < :time OR (o.orderDataTime = :time AND o.orderId < :id)) " +
+            "ORDER BY o.orderDataTime DESC, o.orderId DESC")
+    List<OrderKey> findOrderKeysAfter(@Param("userId") Long userId,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to,
+                                      @Param("time") LocalDateTime time,
+                                      @Param("id") Long id,
+                                      Limit limit);
+
+    @Query("SELECT o.orderId AS orderId, o.user.id AS userId, o.orderDataTime AS orderDataTime, " +
+            "o.totalPrice AS totalPrice, o.orderStatus AS orderStatus, i.id AS itemId, " +
+            "i.product.id AS productId, i.price AS price, i.quantity AS quantity " +
+            "FROM Order o LEFT JOIN o.orderItems i " +
+            "WHERE o.orderId IN :orderIds " +
+            "ORDER BY o.orderDataTime DESC, o.orderId DESC, i.id ASC")
+    List<OrderHistoryRow> findOrderHistoryRowsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
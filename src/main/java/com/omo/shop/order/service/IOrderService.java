@@ -1,12 +1,25 @@
 package com.omo.shop.order.service;
 
+import com.omo.shop.common.pagination.CursorPage;
 import com.omo.shop.order.dto.OrderDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface IOrderService {
 
     OrderDto placeOrder (Long userId, Long addressId);
     OrderDto getOrder(Long orderId);
+
+    /**
+     * @deprecated returns the whole history, use {@link #getUserOrderHistory} instead.
+     */
+    @Deprecated
     List<OrderDto> getUserOrders(Long userId);
+
+    /**
+     * Newest orders first, placed in [{@code from}, {@code to}); both bounds are optional.
+     */
+    CursorPage<OrderDto> getUserOrderHistory(Long userId, String cursor, Integer size,
+                                             LocalDateTime from, LocalDateTime to);
 }
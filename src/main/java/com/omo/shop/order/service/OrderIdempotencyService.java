@@ -0,0 +1,175 @@
+package com.omo.shop.order.service;
+
+import com.omo.shop.common.cache.BoundedCache;
+import com.omo.shop.common.exceptions.IdempotencyKeyConflictException;
+import com.omo.shop.order.dto.OrderDto;
+import com.omo.shop.order.model.OrderIdempotencyKey;
+import com.omo.shop.order.repository.OrderIdempotencyKeyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.omo.shop.common.constants.ExceptionMessages.IDEMPOTENCY_KEY_IN_PROGRESS;
+import static com.omo.shop.common.constants.ExceptionMessages.IDEMPOTENCY_KEY_REUSED;
+import static com.omo.shop.common.constants.ExceptionMessages.INVALID_IDEMPOTENCY_KEY;
+
+/**
+ * Places an order at most once per (user, Idempotency-Key) and replays the first result to retries.
+ * Results are kept in a bounded in-memory cache; with {@code persistent} enabled the key is also
+ * claimed in the database so retries hitting another instance or a restarted one are caught too.
+ * Failed attempts are not remembered, so the client can retry them with the same key.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderIdempotencyService {
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IOrderService orderService;
+    private final OrderIdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.orders.idempotency.ttl}")
+    private Duration ttl;
+
+    @Value("${application.orders.idempotency.max-entries}")
+    private int maxEntries;
+
+    @Value("${application.orders.idempotency.persistent}")
+    private boolean persistent;
+
+    @Value("${application.orders.idempotency.claim-timeout}")
+    private Duration claimTimeout;
+
+    private final BoundedCache<String, CachedOrder> cache = new BoundedCache<>(() -> maxEntries);
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public OrderDto placeOrder(Long userId, Long addressId, String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(INVALID_IDEMPOTENCY_KEY);
+        }
+        String cacheKey = userId + ":" + idempotencyKey;
+        OrderDto cached = lookup(cacheKey, addressId);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (!inFlight.add(cacheKey)) {
+            throw new IdempotencyKeyConflictException(IDEMPOTENCY_KEY_IN_PROGRESS);
+        }
+        try {
+            // The request that held the key may have finished between the lookup and the claim
+            cached = lookup(cacheKey, addressId);
+            if (cached != null) {
+                return cached;
+            }
+            OrderDto order = persistent
+                    ? placeWithClaim(userId, addressId, idempotencyKey)
+                    : orderService.placeOrder(userId, addressId);
+            remember(cacheKey, addressId, order);
+            return order;
+        } finally {
+            inFlight.remove(cacheKey);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.orders.idempotency.purge-interval-ms}")
+    public void purgeExpiredKeys() {
+        Instant now = Instant.now();
+        cache.removeIf(cached -> cached.expiresAt().isBefore(now));
+        if (persistent) {
+            int purged = idempotencyKeyRepository.deleteCreatedBefore(now.minus(ttl));
+            log.debug("Purged {} expired order idempotency keys", purged);
+        }
+    }
+
+    private OrderDto placeWithClaim(Long userId, Long addressId, String idempotencyKey) {
+        Long claimId;
+        try {
+            claimId = idempotencyKeyRepository.saveAndFlush(OrderIdempotencyKey.builder()
+                    .userId(userId)
+                    .idempotencyKey(idempotencyKey)
+                    .addressId(addressId)
+                    .createdAt(Instant.now())
+                    .build()).getId();
+        } catch (DataIntegrityViolationException e) {
+            OrderIdempotencyKey stored = idempotencyKeyRepository
+                    .findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                    .orElseThrow(() -> new IdempotencyKeyConflictException(IDEMPOTENCY_KEY_IN_PROGRESS));
+            if (!addressId.equals(stored.getAddressId())) {
+                throw new IdempotencyKeyConflictException(IDEMPOTENCY_KEY_REUSED);
+            }
+            if (stored.getOrderId() != null) {
+                return orderService.getOrder(stored.getOrderId());
+            }
+            if (!takeOverStale(stored)) {
+                throw new IdempotencyKeyConflictException(IDEMPOTENCY_KEY_IN_PROGRESS);
+            }
+            claimId = stored.getId();
+        }
+        return placeClaimed(claimId, userId, addressId);
+    }
+
+    /**
+     * The order and its order id on the claim commit in one transaction, so a claim without an
+     * order id never has a placed order behind it.
+     */
+    private OrderDto placeClaimed(Long claimId, Long userId, Long addressId) {
+        AtomicBoolean committing = new AtomicBoolean();
+        try {
+            return transactionTemplate.execute(status -> {
+                OrderDto order = orderService.placeOrder(userId, addressId);
+                idempotencyKeyRepository.recordOrder(claimId, order.getOrderId());
+                committing.set(true);
+                return order;
+            });
+        } catch (RuntimeException e) {
+            // A failed commit may still have placed the order, so that claim is left to time out
+            if (!committing.get()) {
+                idempotencyKeyRepository.deleteById(claimId);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Claims left without an order id past {@code claim-timeout} belong to a request that crashed
+     * or whose commit failed; the first retry to move the claim's timestamp takes it over.
+     */
+    private boolean takeOverStale(OrderIdempotencyKey stored) {
+        Instant now = Instant.now();
+        return idempotencyKeyRepository.takeOverStaleClaim(stored.getId(), now.minus(claimTimeout), now) == 1;
+    }
+
+    private OrderDto lookup(String cacheKey, Long addressId) {
+        CachedOrder cached = cache.get(cacheKey);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt().isBefore(Instant.now())) {
+            cache.remove(cacheKey);
+            return null;
+        }
+        if (!cached.addressId().equals(addressId)) {
+            throw new IdempotencyKeyConflictException(IDEMPOTENCY_KEY_REUSED);
+        }
+        return cached.order();
+    }
+
+    private void remember(String cacheKey, Long addressId, OrderDto order) {
+        cache.put(cacheKey, new CachedOrder(addressId, order, Instant.now().plus(ttl)));
+    }
+
+    private record CachedOrder(Long addressId, OrderDto order, Instant expiresAt) {
+    }
+}
@@ -6,39 +6,58 @@ import com.omo.shop.cart.model.Cart;
 import com.omo.shop.cart.model.CartItem;
 import com.omo.shop.cart.service.ICartService;
 import com.omo.shop.common.constants.ExceptionMessages;
-import com.omo.shop.common.exceptions.InsufficientStockException;
 import com.omo.shop.common.exceptions.ResourceNotFoundException;
+import com.omo.shop.common.pagination.CursorCodec;
+import com.omo.shop.common.pagination.CursorPage;
+import com.omo.shop.inventory.service.IInventoryService;
 import com.omo.shop.order.dto.OrderDto;
+import com.omo.shop.order.dto.OrderKey;
 import com.omo.shop.order.enums.OrderStatus;
 import com.omo.shop.order.mapper.OrderMapper;
 import com.omo.shop.order.model.Order;
 import com.omo.shop.order.model.OrderItem;
 import com.omo.shop.order.repository.OrderRepository;
-import com.omo.shop.product.model.Product;
-import com.omo.shop.product.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static com.omo.shop.common.constants.ExceptionMessages.ADDRESS_NOT_FOUND;
+import static com.omo.shop.common.constants.ExceptionMessages.INVALID_CURSOR;
+import static com.omo.shop.common.constants.ExceptionMessages.INVALID_DATE_RANGE;
 
 @RequiredArgsConstructor
 @Service
 public class OrderService implements IOrderService {
+    // Used when the history request leaves a bound open; both fit a MySQL DATETIME
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime HISTORY_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final OrderRepository orderRepository;
-    private final ProductRepository productRepository;
+    private final IInventoryService inventoryService;
     private final AddressRepository addressRepository;
     private final ICartService cartService;
     private final OrderMapper orderMapper;
 
+    @Value("${application.orders.page.default-size}")
+    private int defaultPageSize;
+
+    @Value("${application.orders.page.max-size}")
+    private int maxPageSize;
+
     @Transactional
     @Override
+    @Timed("shop.orders.place")
     public OrderDto placeOrder(Long userId, Long addressId) {
         Cart cart = cartService.getCartByUserId(userId);
         Address address = addressRepository.findById(addressId)
@@ -47,6 +66,9 @@ public class OrderService implements IOrderService {
         if (!address.getUser().getId().equals(userId)) {
             throw new ResourceNotFoundException(ADDRESS_NOT_FOUND);
         }
+        inventoryService.reserve(cart.getItems()
+                .stream()
+                .collect(Collectors.toMap(item -> item.getProduct().getId(), CartItem::getQuantity, Integer::sum)));
         Order order = createOrder(cart, address);
         List<OrderItem> orderItems = createOrderItems(order, cart);
         order.setOrderItems(new HashSet<>(orderItems));
@@ -58,7 +80,7 @@ public class OrderService implements IOrderService {
 
     @Override
     public OrderDto getOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithItemsByOrderId(orderId)
                 .orElseThrow(
                         () -> new ResourceNotFoundException(ExceptionMessages.ORDER_NOT_FOUND)
                 );
@@ -67,8 +89,60 @@ public class OrderService implements IOrderService {
 
     @Override
     public List<OrderDto> getUserOrders(Long userId) {
-        List<Order> orderList = orderRepository.findOrdersByUserId(userId);
-        return orderMapper.toDtoList(orderList);
+        return orderMapper.toDtoListFromRows(orderRepository.findOrderHistoryRows(userId));
+    }
+
+    @Override
+    public CursorPage<OrderDto> getUserOrderHistory(Long userId, String cursor, Integer size,
+                                                    LocalDateTime from, LocalDateTime to) {
+        LocalDateTime lower = from == null ? HISTORY_START : from;
+        LocalDateTime upper = to == null ? HISTORY_END : to;
+        if (!lower.isBefore(upper)) {
+            throw new IllegalArgumentException(INVALID_DATE_RANGE);
+        }
+        int pageSize = resolvePageSize(size);
+        // Fetch one extra key to know whether another page exists without a COUNT query
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<OrderKey> keys;
+        if (cursor == null || cursor.isBlank()) {
+            keys = orderRepository.findOrderKeys(userId, lower, upper, limit);
+        } else {
+            String[] parts = CursorCodec.decode(cursor);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(INVALID_CURSOR);
+            }
+            try {
+                keys = orderRepository.findOrderKeysAfter(userId, lower, upper,
+                        LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]), limit);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException(INVALID_CURSOR);
+            }
+        }
+
+        boolean hasNext = keys.size() > pageSize;
+        List<OrderKey> page = hasNext ? keys.subList(0, pageSize) : keys;
+        OrderKey last = page.isEmpty() ? null : page.get(page.size() - 1);
+        String nextCursor = hasNext ? CursorCodec.encode(last.getOrderDataTime(), last.getOrderId()) : null;
+
+        List<OrderDto> orders = page.isEmpty()
+                ? List.of()
+                : orderMapper.toDtoListFromRows(orderRepository.findOrderHistoryRowsByOrderIdIn(
+                        page.stream().map(OrderKey::getOrderId).toList()));
+
+        return CursorPage.<OrderDto>builder()
+                .items(orders)
+                .size(orders.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        return Math.min(size, maxPageSize);
     }
 
     private Order createOrder(Cart cart, Address address) {
@@ -85,24 +159,13 @@ public class OrderService implements IOrderService {
         List<OrderItem> orderItems = new ArrayList<>();
 
         for (CartItem cartItem : cart.getItems()) {
-            Product product = cartItem.getProduct();
-
-            if (product.getInventory() < cartItem.getQuantity()) {
-                throw new InsufficientStockException("Not enough stock for product: " + product.getName());
-            }
-
-            product.setInventory(product.getInventory() - cartItem.getQuantity());
             orderItems.add(OrderItem.builder()
                     .order(order)
-                    .product(product)
+                    .product(cartItem.getProduct())
                     .quantity(cartItem.getQuantity())
                     .price(cartItem.getUnitPrice())
                     .build());
         }
-
-        productRepository.saveAll(cart.getItems().stream()
-                .map(CartItem::getProduct)
-                .toList());
         return orderItems;
 
     }
@@ -1,18 +1,28 @@
 package com.omo.shop.product.controller;
 
 import com.omo.shop.common.exceptions.ResourceNotFoundException;
+import com.omo.shop.common.pagination.CursorPage;
 import com.omo.shop.common.response.ApiResponse;
 import com.omo.shop.product.dto.ProductDto;
+import com.omo.shop.product.dto.ProductImportReport;
+import com.omo.shop.product.dto.ProductPatchReport;
+import com.omo.shop.product.enums.ProductSortKey;
 import com.omo.shop.product.request.AddProductRequest;
+import com.omo.shop.product.request.ProductPatchRequest;
 import com.omo.shop.product.request.UpdateProductRequest;
+import com.omo.shop.product.service.IProductImportService;
 import com.omo.shop.product.service.IProductService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 @RestController
@@ -20,13 +30,32 @@ import static org.springframework.http.HttpStatus.NOT_FOUND;
 @RequestMapping("${api.prefix}/products")
 public class  ProductController {
     private final IProductService productService;
+    private final IProductImportService productImportService;
 
+    /**
+     * @deprecated unbounded, kept for existing clients; use the paginated {@code GET /products} instead.
+     */
+    @Deprecated
     @GetMapping("/all")
     public ResponseEntity<ApiResponse> getAllProducts() {
         List<ProductDto> products = productService.getAllProducts();
         return ResponseEntity.ok(new ApiResponse("Success", products));
     }
 
+    @GetMapping
+    public ResponseEntity<ApiResponse> getProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "ID") ProductSortKey sort
+    ) {
+        try {
+            CursorPage<ProductDto> page = productService.getProducts(cursor, size, sort);
+            return ResponseEntity.ok(new ApiResponse("Success", page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(BAD_REQUEST).body(new ApiResponse(e.getMessage(), null));
+        }
+    }
+
     @GetMapping("/{productId}")
     public ResponseEntity<ApiResponse> getProductById(@PathVariable("productId") Long id) {
         try {
@@ -50,6 +79,22 @@ public class  ProductController {
         }
     }
 
+    /**
+     * Creates or updates products in bulk from a streamed {@code text/csv} or {@code application/x-ndjson} body.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ApiResponse> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) {
+        try {
+            ProductImportReport report = productImportService.importProducts(body, contentType);
+            return ResponseEntity.ok(new ApiResponse("Import finished", report));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(BAD_REQUEST).body(new ApiResponse(e.getMessage(), null));
+        }
+    }
+
     @PutMapping("/{productId}")
     public ResponseEntity<ApiResponse> updateProduct(
             @PathVariable("productId") Long id,
@@ -65,6 +110,19 @@ public class  ProductController {
         }
     }
 
+    /**
+     * Sets price and/or inventory of many products at once, optionally guarded by each product's version.
+     */
+    @PatchMapping
+    public ResponseEntity<ApiResponse> patchProducts(@RequestBody List<ProductPatchRequest> patches) {
+        try {
+            ProductPatchReport report = productService.patchProducts(patches);
+            return ResponseEntity.ok(new ApiResponse("Products patched", report));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(BAD_REQUEST).body(new ApiResponse(e.getMessage(), null));
+        }
+    }
+
     @DeleteMapping("/{productId}")
     public ResponseEntity<ApiResponse> deleteProduct(
             @PathVariable("productId") Long id
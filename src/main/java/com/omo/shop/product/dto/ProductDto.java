@@ -21,6 +21,7 @@ public class ProductDto {
     private BigDecimal price;
     private int inventory;
     private String description;
+    private Long version;
     private CategoryDto category;
     private List<ImageDto> images;
 }
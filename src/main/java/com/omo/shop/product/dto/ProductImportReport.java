@@ -0,0 +1,47 @@
+package com.omo.shop.product.dto;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Every row is counted as created, updated or failed; only the first
+ * failures are listed so the report stays small for very large uploads.
+ */
+@Getter
+public class ProductImportReport {
+    private int created;
+    private int updated;
+    private int failed;
+    private final List<RowError> errors = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private final int maxErrors;
+
+    public ProductImportReport(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public void recordCreated() {
+        created++;
+    }
+
+    public void recordUpdated() {
+        updated++;
+    }
+
+    public void recordFailure(long line, String message) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    public boolean isErrorsTruncated() {
+        return failed > errors.size();
+    }
+
+    public record RowError(long line, String message) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.omo.shop.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductPatchReport {
+    private int updated;
+    private List<Long> notFound;
+    private List<Long> conflicts;
+}
@@ -0,0 +1,9 @@
+package com.omo.shop.product.enums;
+
+public enum ProductSortKey {
+    ID,
+    /**
+     * Cheapest first, ties broken by id. Products without a price are not listed under this order.
+     */
+    PRICE
+}
@@ -0,0 +1,182 @@
+package com.omo.shop.product.importer;
+
+import com.omo.shop.product.request.ProductImportRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.omo.shop.common.constants.ExceptionMessages.INVALID_IMPORT_HEADER;
+
+/**
+ * RFC 4180 CSV with a header row naming the columns, in any order: {@code name}, {@code brand},
+ * {@code price} and {@code category} are required, {@code inventory} and {@code description} optional.
+ * Quoted fields may contain commas, doubled quotes and line breaks.
+ * <p>
+ * A record over {@link #MAX_RECORD_LENGTH} characters, with a field over {@link #MAX_FIELD_LENGTH}, or with
+ * a quote still open at the end of the input fails on its first line, and reading resumes on the next one.
+ */
+class CsvProductRowReader implements ProductRowReader {
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "brand", "price", "category");
+    private static final int MAX_FIELD_LENGTH = 16_384;
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long line = 1;
+    private String recordError;
+
+    CsvProductRowReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null || recordError != null) {
+            throw new IllegalArgumentException(INVALID_IMPORT_HEADER);
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(REQUIRED_COLUMNS)) {
+            throw new IllegalArgumentException(INVALID_IMPORT_HEADER);
+        }
+    }
+
+    @Override
+    public ParsedRow next() throws IOException {
+        long start;
+        List<String> fields;
+        do {
+            start = line;
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (recordError == null && fields.size() == 1 && fields.get(0).isBlank());
+
+        if (recordError != null) {
+            return ParsedRow.failed(start, recordError);
+        }
+        try {
+            return ParsedRow.of(start, ProductImportRow.builder()
+                    .name(field(fields, "name"))
+                    .brand(field(fields, "brand"))
+                    .price(decimal(field(fields, "price"), "price"))
+                    .inventory(integer(field(fields, "inventory"), "inventory"))
+                    .description(field(fields, "description"))
+                    .category(field(fields, "category"))
+                    .build());
+        } catch (IllegalArgumentException e) {
+            return ParsedRow.failed(start, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private BigDecimal decimal(String value, String column) {
+        try {
+            return value == null ? null : new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private Integer integer(String value, String column) {
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    /**
+     * Reads the fields of the next record, or returns {@code null} at the end of the input.
+     * A record that can't be read (a quote left open at the end of the input, or a record over the
+     * length limits) sets {@link #recordError} and consumes only its first physical line.
+     */
+    private List<String> readRecord() throws IOException {
+        recordError = null;
+        long startLine = line;
+        reader.mark(MAX_RECORD_LENGTH + 1);
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 1;
+        while (true) {
+            if (length > MAX_RECORD_LENGTH) {
+                return skipFirstLine(startLine, "Record is longer than " + MAX_RECORD_LENGTH + " characters");
+            }
+            if (field.length() > MAX_FIELD_LENGTH) {
+                return skipFirstLine(startLine, "Field is longer than " + MAX_FIELD_LENGTH + " characters");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    return skipFirstLine(startLine, "Unterminated quoted field");
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    length++;
+                    if (c != '"') {
+                        // Closing quote; the character after it is handled as unquoted input
+                        quoted = false;
+                        continue;
+                    }
+                    field.append('"');
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                line++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+            length++;
+        }
+    }
+
+    /**
+     * Fails the current record and rewinds to its start, then discards only its first physical line.
+     * The lines after it are read again as records of their own, so a stray quote can't swallow them.
+     */
+    private List<String> skipFirstLine(long startLine, String error) throws IOException {
+        reader.reset();
+        line = startLine;
+        int c;
+        do {
+            c = reader.read();
+        } while (c != '\n' && c != -1);
+        line++;
+        recordError = error;
+        return List.of();
+    }
+}
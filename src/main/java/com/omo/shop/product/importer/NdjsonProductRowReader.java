@@ -0,0 +1,68 @@
+package com.omo.shop.product.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omo.shop.product.request.ProductImportRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * One JSON object per line; blank lines are skipped. A line over {@link #MAX_RECORD_LENGTH} characters
+ * fails without being buffered.
+ */
+class NdjsonProductRowReader implements ProductRowReader {
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long line;
+
+    NdjsonProductRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ParsedRow next() throws IOException {
+        String text;
+        do {
+            text = readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+
+        if (text.length() > MAX_RECORD_LENGTH) {
+            return ParsedRow.failed(line, "Record is longer than " + MAX_RECORD_LENGTH + " characters");
+        }
+        try {
+            return ParsedRow.of(line, objectMapper.readValue(text, ProductImportRow.class));
+        } catch (JsonProcessingException e) {
+            return ParsedRow.failed(line, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Reads one line like {@link BufferedReader#readLine()}, but keeps at most one character past the
+     * limit so an overlong line is recognised without holding it in memory.
+     */
+    private String readLine() throws IOException {
+        StringBuilder text = new StringBuilder();
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != '\n' && c != -1) {
+            if (c != '\r' && text.length() <= MAX_RECORD_LENGTH) {
+                text.append((char) c);
+            }
+            c = reader.read();
+        }
+        return text.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,19 @@
+package com.omo.shop.product.importer;
+
+import com.omo.shop.product.request.ProductImportRow;
+
+/**
+ * A row read from an import, or the reason it could not be read.
+ *
+ * @param line line of the upload the row starts on, counting from 1
+ */
+public record ParsedRow(long line, ProductImportRow row, String error) {
+
+    static ParsedRow of(long line, ProductImportRow row) {
+        return new ParsedRow(line, row, null);
+    }
+
+    static ParsedRow failed(long line, String error) {
+        return new ParsedRow(line, null, error);
+    }
+}
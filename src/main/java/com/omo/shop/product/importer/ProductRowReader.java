@@ -0,0 +1,52 @@
+package com.omo.shop.product.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static com.omo.shop.common.constants.ExceptionMessages.UNSUPPORTED_IMPORT_FORMAT;
+
+/**
+ * Reads import rows one at a time, so an upload is never held in memory as a whole.
+ */
+public interface ProductRowReader extends Closeable {
+    MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    // A longer record fails on its own; the reader skips to the next line instead of buffering on
+    int MAX_RECORD_LENGTH = 65_536;
+
+    /**
+     * @return the next row, or {@code null} once the input is exhausted
+     */
+    ParsedRow next() throws IOException;
+
+    /**
+     * Opens a reader for a {@code text/csv} or {@code application/x-ndjson} body, decoded with the
+     * charset of the content type (UTF-8 when none is given).
+     */
+    static ProductRowReader open(String contentType, InputStream body, ObjectMapper objectMapper) throws IOException {
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            throw new IllegalArgumentException(UNSUPPORTED_IMPORT_FORMAT);
+        }
+        Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, charset));
+
+        if (TEXT_CSV.includes(mediaType)) {
+            return new CsvProductRowReader(reader);
+        }
+        if (MediaType.APPLICATION_NDJSON.includes(mediaType)) {
+            return new NdjsonProductRowReader(reader, objectMapper);
+        }
+        throw new IllegalArgumentException(UNSUPPORTED_IMPORT_FORMAT);
+    }
+}
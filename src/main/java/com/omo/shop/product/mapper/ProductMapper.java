@@ -1,9 +1,10 @@
 package com.omo.shop.product.mapper;
 
+import com.omo.shop.category.mapper.CategoryMapper;
+import com.omo.shop.image.mapper.ImageMapper;
 import com.omo.shop.product.dto.ProductDto;
 import com.omo.shop.product.model.Product;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,14 +14,44 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProductMapper {
 
-    private final ModelMapper modelMapper;
+    private final CategoryMapper categoryMapper;
+    private final ImageMapper imageMapper;
 
     public ProductDto toDto(Product product) {
-        return modelMapper.map(product, ProductDto.class);
+        if (product == null) {
+            return null;
+        }
+        return ProductDto.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .brand(product.getBrand())
+                .price(product.getPrice())
+                .inventory(product.getInventory())
+                .description(product.getDescription())
+                .version(product.getVersion())
+                .category(categoryMapper.toDto(product.getCategory()))
+                .images(product.getImages() == null ? null : imageMapper.toDtoList(product.getImages()))
+                .build();
     }
 
     public Product toEntity(ProductDto productDto) {
-        return modelMapper.map(productDto, Product.class);
+        if (productDto == null) {
+            return null;
+        }
+        return Product.builder()
+                .id(productDto.getId())
+                .name(productDto.getName())
+                .brand(productDto.getBrand())
+                .price(productDto.getPrice())
+                .inventory(productDto.getInventory())
+                .description(productDto.getDescription())
+                .version(productDto.getVersion())
+                .category(categoryMapper.toEntity(productDto.getCategory()))
+                .images(productDto.getImages() == null ? null : productDto.getImages()
+                        .stream()
+                        .map(imageMapper::toEntity)
+                        .collect(Collectors.toList()))
+                .build();
     }
 
     public List<ProductDto> toDtoList(List<Product> products) {
@@ -4,6 +4,8 @@ import com.omo.shop.category.model.Category;
 import com.omo.shop.image.model.Image;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -17,16 +19,23 @@ import java.util.List;
 @ToString(exclude = "category")
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String brand;
     private BigDecimal price;
     private int inventory;
     private String description;
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
     @ManyToOne(cascade = CascadeType.ALL)
     @JoinColumn(name = "category_id")
     private Category category;
+    // Loads the images of up to a full page of products (application.products.page.max-size) in one query
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "product",cascade = CascadeType.ALL,orphanRemoval = true)
     private List<Image> images;
 
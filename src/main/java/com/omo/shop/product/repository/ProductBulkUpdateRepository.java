@@ -0,0 +1,17 @@
+package com.omo.shop.product.repository;
+
+import com.omo.shop.product.request.ProductPatchRequest;
+
+import java.util.List;
+
+public interface ProductBulkUpdateRepository {
+    /**
+     * Applies the patches as batched UPDATE statements, without loading the products.
+     * Every applied patch increments the product's version.
+     *
+     * @return rows changed by each patch, in the order given: 0 when the product does not exist or
+     * its version no longer matches, or {@link java.sql.Statement#SUCCESS_NO_INFO} if the driver
+     * does not report counts
+     */
+    int[] applyPatches(List<ProductPatchRequest> patches);
+}
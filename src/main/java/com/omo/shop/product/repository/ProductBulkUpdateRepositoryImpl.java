@@ -0,0 +1,62 @@
+package com.omo.shop.product.repository;
+
+import com.omo.shop.product.request.ProductPatchRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+class ProductBulkUpdateRepositoryImpl implements ProductBulkUpdateRepository {
+    // COALESCE keeps a column unchanged when its parameter is null, so every patch shares one statement
+    private static final String UPDATE = "UPDATE product " +
+            "SET price = COALESCE(?, price), inventory = COALESCE(?, inventory), version = version + 1 " +
+            "WHERE id = ?";
+    private static final String VERSIONED_UPDATE = UPDATE + " AND version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    ProductBulkUpdateRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                    @Value("${application.products.bulk-update.batch-size}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public int[] applyPatches(List<ProductPatchRequest> patches) {
+        List<Integer> plain = new ArrayList<>();
+        List<Integer> versioned = new ArrayList<>();
+        for (int i = 0; i < patches.size(); i++) {
+            (patches.get(i).getVersion() == null ? plain : versioned).add(i);
+        }
+
+        int[] counts = new int[patches.size()];
+        execute(UPDATE, plain, patches, counts);
+        execute(VERSIONED_UPDATE, versioned, patches, counts);
+        return counts;
+    }
+
+    private void execute(String sql, List<Integer> indexes, List<ProductPatchRequest> patches, int[] counts) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        int[][] batches = jdbcTemplate.batchUpdate(sql, indexes, batchSize, (statement, index) -> {
+            ProductPatchRequest patch = patches.get(index);
+            statement.setObject(1, patch.getPrice(), Types.DECIMAL);
+            statement.setObject(2, patch.getInventory(), Types.INTEGER);
+            statement.setLong(3, patch.getId());
+            if (patch.getVersion() != null) {
+                statement.setLong(4, patch.getVersion());
+            }
+        });
+
+        int position = 0;
+        for (int[] batch : batches) {
+            for (int count : batch) {
+                counts[indexes.get(position++)] = count;
+            }
+        }
+    }
+}
@@ -1,11 +1,19 @@
 package com.omo.shop.product.repository;
 
+import com.omo.shop.inventory.dto.ProductInventory;
 import com.omo.shop.product.model.Product;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductBulkUpdateRepository {
     List<Product> findByCategoryName(String category);
 
     List<Product> getByBrand(String brand);
@@ -17,4 +25,42 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByBrandAndName(String brand, String name);
 
     Long countByBrandAndName(String brand, String name);
+
+    List<Product> findByNameIn(Collection<String> names);
+
+    // Keyset (seek) pagination: each page starts right after the last row of the previous one,
+    // so the cost of a page does not grow with its position in the catalog.
+    @EntityGraph(attributePaths = "category")
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @EntityGraph(attributePaths = "category")
+    List<Product> findByPriceNotNullOrderByPriceAscIdAsc(Limit limit);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT p FROM Product p " +
+            "WHERE p.price > :price OR (p.price = :price AND p.id > :id) " +
+            "ORDER BY p.price ASC, p.id ASC")
+    List<Product> findPricePageAfter(@Param("price") BigDecimal price,
+                                     @Param("id") Long id,
+                                     Limit limit);
+
+    // Conditional decrement: returns 0 instead of overselling when stock is insufficient
+    @Modifying
+    @Query("UPDATE Product p SET p.inventory = p.inventory - :quantity, p.version = p.version + 1 " +
+            "WHERE p.id = :id AND p.inventory >= :quantity")
+    int decrementInventory(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // Applies sales already checked against the in-memory ledger
+    @Modifying
+    @Query("UPDATE Product p SET p.inventory = p.inventory - :quantity, p.version = p.version + 1 WHERE p.id = :id")
+    int subtractInventory(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id AS id, p.inventory AS inventory FROM Product p")
+    List<ProductInventory> findAllInventory();
+
+    @Query("SELECT p.id AS id, p.inventory AS inventory FROM Product p WHERE p.id IN :ids")
+    List<ProductInventory> findInventoryByIdIn(@Param("ids") Collection<Long> ids);
 }
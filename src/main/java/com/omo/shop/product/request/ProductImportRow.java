@@ -0,0 +1,24 @@
+package com.omo.shop.product.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One product in a bulk import. Unlike {@link AddProductRequest} the category is given by name.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductImportRow {
+    private String name;
+    private String brand;
+    private BigDecimal price;
+    private Integer inventory;
+    private String description;
+    private String category;
+}
@@ -0,0 +1,23 @@
+package com.omo.shop.product.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * New price and/or inventory for one product in a bulk patch; a {@code null} field is left unchanged.
+ * When {@code version} is set the patch only applies if the product is still at that version.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductPatchRequest {
+    private Long id;
+    private BigDecimal price;
+    private Integer inventory;
+    private Long version;
+}
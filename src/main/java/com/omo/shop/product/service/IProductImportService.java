@@ -0,0 +1,15 @@
+package com.omo.shop.product.service;
+
+import com.omo.shop.product.dto.ProductImportReport;
+
+import java.io.InputStream;
+
+public interface IProductImportService {
+    /**
+     * Creates or updates a product, matched by brand and name, for every row of a CSV or NDJSON upload.
+     * Rows are committed in chunks, so rows before a failing chunk stay imported.
+     *
+     * @throws IllegalArgumentException if the content type is not supported or the CSV header is invalid
+     */
+    ProductImportReport importProducts(InputStream body, String contentType);
+}
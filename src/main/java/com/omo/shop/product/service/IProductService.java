@@ -1,7 +1,11 @@
 package com.omo.shop.product.service;
 
+import com.omo.shop.common.pagination.CursorPage;
 import com.omo.shop.product.dto.ProductDto;
+import com.omo.shop.product.dto.ProductPatchReport;
+import com.omo.shop.product.enums.ProductSortKey;
 import com.omo.shop.product.request.AddProductRequest;
+import com.omo.shop.product.request.ProductPatchRequest;
 import com.omo.shop.product.request.UpdateProductRequest;
 
 import java.util.List;
@@ -15,8 +19,25 @@ public interface IProductService {
 
     ProductDto updateProduct(UpdateProductRequest product, Long productId);
 
+    /**
+     * Sets price and/or inventory of many products in one transaction. Patches whose product is
+     * missing or whose version check fails are reported and skipped; the rest are applied.
+     *
+     * @throws IllegalArgumentException if any patch is invalid, in which case nothing is applied
+     */
+    ProductPatchReport patchProducts(List<ProductPatchRequest> patches);
+
+    /**
+     * @deprecated loads the whole catalog, use {@link #getProducts(String, Integer, ProductSortKey)} instead.
+     */
+    @Deprecated
     List<ProductDto> getAllProducts();
 
+    /**
+     * Returns one keyset page of products. Sorting by {@link ProductSortKey#PRICE} leaves out products without a price.
+     */
+    CursorPage<ProductDto> getProducts(String cursor, Integer size, ProductSortKey sortKey);
+
     List<ProductDto> getProductsByCategory(String category);
 
     List<ProductDto> getProductsByBrand(String brand);
@@ -26,7 +47,4 @@ public interface IProductService {
     List<ProductDto> getProductsByName(String name);
 
     List<ProductDto> getProductsByBrandAndName(String brand, String name);
-
-
-
 }
@@ -0,0 +1,194 @@
+package com.omo.shop.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omo.shop.category.model.Category;
+import com.omo.shop.category.repository.CategoryRepository;
+import com.omo.shop.product.dto.ProductImportReport;
+import com.omo.shop.product.importer.ParsedRow;
+import com.omo.shop.product.importer.ProductRowReader;
+import com.omo.shop.product.model.Product;
+import com.omo.shop.product.repository.ProductRepository;
+import com.omo.shop.product.request.ProductImportRow;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.omo.shop.common.constants.ExceptionMessages.CATEGORY_NOT_FOUND;
+
+/**
+ * Streams an upload in chunks of {@code chunk-size} rows. Each chunk is one transaction: existing
+ * products are fetched with a single query, and new and changed rows are flushed together so
+ * Hibernate sends them as JDBC batches. The persistence context is cleared after every chunk to
+ * keep memory flat however large the upload is. A chunk that rolls back is retried row by row, so
+ * only the rows the database rejects are reported as failed.
+ */
+@Slf4j
+@Timed("shop.products.import")
+@Service
+@RequiredArgsConstructor
+public class ProductImportService implements IProductImportService {
+    // Product's text columns use the default VARCHAR(255)
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${application.products.import.chunk-size}")
+    private int chunkSize;
+
+    @Value("${application.products.import.max-reported-errors}")
+    private int maxReportedErrors;
+
+    @Override
+    public ProductImportReport importProducts(InputStream body, String contentType) {
+        ProductImportReport report = new ProductImportReport(maxReportedErrors);
+        // Category ids by name for the whole import; unknown names are remembered as empty
+        Map<String, Optional<Long>> categoryIds = new HashMap<>();
+        List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+        long lastLine = 0;
+
+        try (ProductRowReader reader = ProductRowReader.open(contentType, body, objectMapper)) {
+            ParsedRow row;
+            while ((row = reader.next()) != null) {
+                lastLine = row.line();
+                String error = row.error() != null ? row.error() : validate(row.row());
+                if (error != null) {
+                    report.recordFailure(row.line(), error);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, categoryIds, report);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Product import stopped after line {}", lastLine, e);
+            chunk.forEach(row -> report.recordFailure(row.line(), "Upload was interrupted before this row was saved"));
+            report.recordFailure(lastLine + 1, "Could not read the rest of the upload: " + e.getMessage());
+            return report;
+        }
+
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, categoryIds, report);
+        }
+        return report;
+    }
+
+    private void importChunk(List<ParsedRow> chunk, Map<String, Optional<Long>> categoryIds, ProductImportReport report) {
+        List<Runnable> outcomes = new ArrayList<>(chunk.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                upsert(chunk, categoryIds, report, outcomes);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException e) {
+            long firstLine = chunk.get(0).line();
+            if (chunk.size() > 1) {
+                // One bad row shouldn't cost the rest of the chunk, so find it by saving the rows one at a time
+                log.warn("Product import chunk at line {} rolled back, retrying its rows one by one", firstLine, e);
+                chunk.forEach(row -> importChunk(List.of(row), categoryIds, report));
+                return;
+            }
+            // The cause goes to the log only; database errors can quote other rows and schema details
+            log.warn("Product import row at line {} was not saved", firstLine, e);
+            report.recordFailure(firstLine, "Not saved, the database rejected this row");
+            return;
+        }
+        outcomes.forEach(Runnable::run);
+    }
+
+    /**
+     * Applies the rows of a chunk, queueing their report entries in {@code outcomes} so a rolled-back
+     * chunk is not counted as imported.
+     */
+    private void upsert(List<ParsedRow> chunk, Map<String, Optional<Long>> categoryIds,
+                        ProductImportReport report, List<Runnable> outcomes) {
+        Set<String> names = chunk.stream().map(row -> row.row().getName()).collect(Collectors.toSet());
+        Map<String, Product> products = new HashMap<>();
+        productRepository.findByNameIn(names).forEach(product -> products.putIfAbsent(key(product), product));
+
+        List<Product> created = new ArrayList<>();
+        for (ParsedRow parsed : chunk) {
+            ProductImportRow row = parsed.row();
+            Optional<Long> categoryId = categoryIds.computeIfAbsent(row.getCategory(),
+                    name -> categoryRepository.findByName(name).map(Category::getId));
+            if (categoryId.isEmpty()) {
+                outcomes.add(() -> report.recordFailure(parsed.line(), CATEGORY_NOT_FOUND + ": " + row.getCategory()));
+                continue;
+            }
+
+            Category category = categoryRepository.getReferenceById(categoryId.get());
+            Product product = products.get(key(row.getBrand(), row.getName()));
+            if (product == null) {
+                product = new Product(row.getName(), row.getBrand(), row.getPrice(),
+                        row.getInventory() != null ? row.getInventory() : 0, row.getDescription(), category);
+                products.put(key(product), product);
+                created.add(product);
+                outcomes.add(report::recordCreated);
+            } else {
+                product.setPrice(row.getPrice());
+                product.setCategory(category);
+                if (row.getInventory() != null) {
+                    product.setInventory(row.getInventory());
+                }
+                if (row.getDescription() != null) {
+                    product.setDescription(row.getDescription());
+                }
+                outcomes.add(report::recordUpdated);
+            }
+        }
+        productRepository.saveAll(created);
+    }
+
+    private String validate(ProductImportRow row) {
+        if (isBlank(row.getName()) || isBlank(row.getBrand()) || isBlank(row.getCategory())) {
+            return "name, brand and category are required";
+        }
+        if (row.getPrice() == null || row.getPrice().compareTo(BigDecimal.ZERO) < 0) {
+            return "price is required and must not be negative";
+        }
+        if (row.getInventory() != null && row.getInventory() < 0) {
+            return "inventory must not be negative";
+        }
+        if (tooLong(row.getName()) || tooLong(row.getBrand()) || tooLong(row.getDescription())) {
+            return "name, brand and description must be at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_TEXT_LENGTH;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String key(Product product) {
+        return key(product.getBrand(), product.getName());
+    }
+
+    private static String key(String brand, String name) {
+        return brand + '\u0000' + name;
+    }
+}
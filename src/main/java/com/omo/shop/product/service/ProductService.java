@@ -4,20 +4,38 @@ import com.omo.shop.category.model.Category;
 import com.omo.shop.category.repository.CategoryRepository;
 import com.omo.shop.common.constants.ExceptionMessages;
 import com.omo.shop.common.exceptions.ResourceNotFoundException;
+import com.omo.shop.common.pagination.CursorCodec;
+import com.omo.shop.common.pagination.CursorPage;
 import com.omo.shop.product.dto.ProductDto;
+import com.omo.shop.product.dto.ProductPatchReport;
+import com.omo.shop.product.enums.ProductSortKey;
 import com.omo.shop.product.mapper.ProductMapper;
 import com.omo.shop.product.model.Product;
 import com.omo.shop.product.repository.ProductRepository;
 import com.omo.shop.product.request.AddProductRequest;
+import com.omo.shop.product.request.ProductPatchRequest;
 import com.omo.shop.product.request.UpdateProductRequest;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static com.omo.shop.common.constants.ExceptionMessages.CATEGORY_NOT_FOUND;
+import static com.omo.shop.common.constants.ExceptionMessages.DUPLICATE_PRODUCT_PATCH;
+import static com.omo.shop.common.constants.ExceptionMessages.INVALID_CURSOR;
+import static com.omo.shop.common.constants.ExceptionMessages.INVALID_PRODUCT_PATCH;
 import static com.omo.shop.common.constants.ExceptionMessages.PRODUCT_NOT_FOUND;
+import static com.omo.shop.common.constants.ExceptionMessages.TOO_MANY_PRODUCT_PATCHES;
 
+@Timed("shop.products")
 @Service
 @RequiredArgsConstructor
 public class ProductService implements IProductService {
@@ -25,6 +43,15 @@ public class ProductService implements IProductService {
     private final CategoryRepository categoryRepository;
     private final ProductMapper productMapper;
 
+    @Value("${application.products.page.default-size}")
+    private int defaultPageSize;
+
+    @Value("${application.products.page.max-size}")
+    private int maxPageSize;
+
+    @Value("${application.products.bulk-update.max-items}")
+    private int maxPatches;
+
     @Override
     public ProductDto addProduct(AddProductRequest request) {
         Category category = categoryRepository.findById(request.getCategory())
@@ -101,11 +128,140 @@ public class ProductService implements IProductService {
         return existingProduct;
     }
 
+    @Override
+    @Transactional
+    public ProductPatchReport patchProducts(List<ProductPatchRequest> patches) {
+        validatePatches(patches);
+        int[] counts = productRepository.applyPatches(patches);
+
+        List<Long> unmatched = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                unmatched.add(patches.get(i).getId());
+            }
+        }
+        // A patch that changed nothing either targets a missing product or lost its version check
+        Set<Long> existing = unmatched.isEmpty() ? Set.of() : new HashSet<>(productRepository.findExistingIds(unmatched));
+        List<Long> notFound = unmatched.stream().filter(id -> !existing.contains(id)).toList();
+        List<Long> conflicts = unmatched.stream().filter(existing::contains).toList();
+
+        return ProductPatchReport.builder()
+                .updated(patches.size() - unmatched.size())
+                .notFound(notFound)
+                .conflicts(conflicts)
+                .build();
+    }
+
+    private void validatePatches(List<ProductPatchRequest> patches) {
+        if (patches == null || patches.isEmpty()) {
+            throw new IllegalArgumentException(INVALID_PRODUCT_PATCH);
+        }
+        if (patches.size() > maxPatches) {
+            throw new IllegalArgumentException(TOO_MANY_PRODUCT_PATCHES + maxPatches);
+        }
+        Set<Long> ids = new HashSet<>();
+        for (ProductPatchRequest patch : patches) {
+            boolean valid = patch != null && patch.getId() != null
+                    && (patch.getPrice() != null || patch.getInventory() != null)
+                    && (patch.getPrice() == null || patch.getPrice().signum() >= 0)
+                    && (patch.getInventory() == null || patch.getInventory() >= 0);
+            if (!valid) {
+                throw new IllegalArgumentException(INVALID_PRODUCT_PATCH);
+            }
+            if (!ids.add(patch.getId())) {
+                throw new IllegalArgumentException(DUPLICATE_PRODUCT_PATCH + patch.getId());
+            }
+        }
+    }
+
     @Override
     public List<ProductDto> getAllProducts() {
         return productMapper.toDtoList(productRepository.findAll());
     }
 
+    @Override
+    public CursorPage<ProductDto> getProducts(String cursor, Integer size, ProductSortKey sortKey) {
+        int pageSize = resolvePageSize(size);
+        // Fetch one extra row to know whether another page exists without a COUNT query
+        Limit limit = Limit.of(pageSize + 1);
+
+        ProductSortKey key;
+        List<Product> products;
+        if (cursor == null || cursor.isBlank()) {
+            key = sortKey == null ? ProductSortKey.ID : sortKey;
+            products = findFirstPage(key, limit);
+        } else {
+            // The cursor carries its own sort key, so follow-up requests only need `cursor`
+            String[] parts = CursorCodec.decode(cursor);
+            key = parseSortKey(parts[0]);
+            products = findPageAfter(key, parts, limit);
+        }
+
+        boolean hasNext = products.size() > pageSize;
+        List<Product> page = hasNext ? products.subList(0, pageSize) : products;
+        String nextCursor = hasNext ? encodeCursor(key, page.get(page.size() - 1)) : null;
+
+        return CursorPage.<ProductDto>builder()
+                .items(productMapper.toDtoList(page))
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    private List<Product> findFirstPage(ProductSortKey key, Limit limit) {
+        return switch (key) {
+            case ID -> productRepository.findByIdGreaterThanOrderByIdAsc(0L, limit);
+            case PRICE -> productRepository.findByPriceNotNullOrderByPriceAscIdAsc(limit);
+        };
+    }
+
+    private ProductSortKey parseSortKey(String value) {
+        try {
+            return ProductSortKey.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+    }
+
+    private List<Product> findPageAfter(ProductSortKey key, String[] cursor, Limit limit) {
+        try {
+            return switch (key) {
+                case ID -> {
+                    requireParts(cursor, 2);
+                    yield productRepository.findByIdGreaterThanOrderByIdAsc(Long.parseLong(cursor[1]), limit);
+                }
+                case PRICE -> {
+                    requireParts(cursor, 3);
+                    yield productRepository.findPricePageAfter(
+                            new BigDecimal(cursor[1]), Long.parseLong(cursor[2]), limit);
+                }
+            };
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+    }
+
+    private void requireParts(String[] cursor, int expected) {
+        if (cursor.length != expected) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+    }
+
+    private String encodeCursor(ProductSortKey key, Product last) {
+        return switch (key) {
+            case ID -> CursorCodec.encode(key, last.getId());
+            case PRICE -> CursorCodec.encode(key, last.getPrice().toPlainString(), last.getId());
+        };
+    }
+
     @Override
     public List<ProductDto> getProductsByCategory(String category) {
         return productMapper.toDtoList(productRepository.findByCategoryName(category));
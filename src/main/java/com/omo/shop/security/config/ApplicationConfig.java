@@ -1,8 +1,6 @@
 package com.omo.shop.security.config;
 
-import com.omo.shop.security.userprincipal.ShopUserDetails;
-import com.omo.shop.user.model.User;
-import com.omo.shop.user.repository.UserRepository;
+import com.omo.shop.security.service.UserDetailsCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,15 +15,12 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
-    private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return email -> {
-            User user = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-            return ShopUserDetails.buildUserDetails(user); // converts User to UserDetails
-        };
+        return email -> userDetailsCache.find(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
     @Bean
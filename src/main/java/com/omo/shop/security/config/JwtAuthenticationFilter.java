@@ -1,29 +1,50 @@
 package com.omo.shop.security.config;
 
+import com.omo.shop.common.cache.BoundedCache;
 import com.omo.shop.security.service.JwtService;
+import com.omo.shop.security.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
     private final UserDetailsService userDetailsService;
 
+    // Build the principal from the token's claims instead of loading the user on every request
+    @Value("${application.security.jwt.stateless}")
+    private boolean stateless;
+
+    // In stateless mode, how long a user confirmed to still exist is trusted without another lookup
+    @Value("${application.security.jwt.user-check-ttl}")
+    private Duration userCheckTtl;
+
+    @Value("${application.security.jwt.user-check-cache-size}")
+    private int userCheckCacheSize;
+
+    private final BoundedCache<String, Instant> checkedUntil = new BoundedCache<>(() -> userCheckCacheSize);
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
@@ -41,11 +62,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             jwt = authHeader.substring(7);
-            userEmail = jwtService.extractUsername(jwt);
+            // Verified once here; the checks below reuse these claims
+            Claims claims = jwtService.parseClaims(jwt);
+            // parseClaims may serve a revoked token from its cache, so this runs on every request
+            if (tokenRevocationService.isRevoked(claims)) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.setContentType("application/json");
+                response.getWriter().write("{\"message\": \"JWT has been revoked. Please login again.\", \"status\": 401}");
+                return;
+            }
+            userEmail = claims.getSubject();
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails user = this.userDetailsService.loadUserByUsername(userEmail);
-                if (jwtService.isTokenValid(jwt, user)) {
+                UserDetails user = resolveUser(claims);
+                if (jwtService.isTokenValid(claims, user)) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
                                     user, null, user.getAuthorities());
@@ -60,13 +90,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json");
             response.getWriter().write("{\"message\": \"JWT has expired. Please login again.\", \"status\": 401}");
-        } catch (io.jsonwebtoken.JwtException | IllegalArgumentException ex) {
+        } catch (io.jsonwebtoken.JwtException | IllegalArgumentException | UsernameNotFoundException ex) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json");
             response.getWriter().write("{\"message\": \"Invalid JWT token.\", \"status\": 401}");
         }
     }
 
+    private UserDetails resolveUser(Claims claims) {
+        String email = claims.getSubject();
+        if (stateless) {
+            UserDetails fromClaims = jwtService.toUserDetails(claims);
+            if (fromClaims != null && !userCheckDue(email)) {
+                return fromClaims;
+            }
+        }
+        UserDetails user = userDetailsService.loadUserByUsername(email);
+        if (stateless && userCheckTtl.isPositive()) {
+            checkedUntil.put(email, Instant.now().plus(userCheckTtl));
+        }
+        return user;
+    }
 
+    private boolean userCheckDue(String email) {
+        if (!userCheckTtl.isPositive()) {
+            return false;
+        }
+        Instant until = checkedUntil.get(email);
+        return until == null || until.isBefore(Instant.now());
+    }
 }
 
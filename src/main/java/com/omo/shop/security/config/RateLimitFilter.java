@@ -0,0 +1,158 @@
+package com.omo.shop.security.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket rate limiting per client and route group. Clients are keyed by JWT subject, or by IP
+ * address when anonymous, so it runs after {@link JwtAuthenticationFilter}.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again
+ * (the GCRA form of a token bucket), so admitting a request is one lock-free compare-and-set.
+ * A bucket that has refilled completely is indistinguishable from a new one and is swept away.
+ * <p>
+ * Once {@code max-buckets} clients are tracked, new clients share one overflow bucket per route group
+ * until the next sweep frees room, so a flood of distinct addresses is limited rather than waved through.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> overflowBuckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean overflowReported = new AtomicBoolean();
+    private final boolean enabled;
+    private final List<RouteGroup> groups;
+    private final int maxBuckets;
+
+    public RateLimitFilter(@Value("${application.rate-limit.enabled}") boolean enabled,
+                           @Value("${application.rate-limit.groups}") List<String> groups,
+                           @Value("${application.rate-limit.max-buckets}") int maxBuckets) {
+        this.enabled = enabled;
+        this.groups = groups.stream().map(String::trim).filter(spec -> !spec.isEmpty()).map(RouteGroup::parse).toList();
+        this.maxBuckets = maxBuckets;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        RouteGroup group = enabled ? groupFor(request.getRequestURI()) : null;
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = acquire(group.pattern() + "|" + clientKey(request), group, System.nanoTime());
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"message\": \"Too many requests. Please retry later.\", \"status\": 429}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Drops buckets that have refilled completely.
+     */
+    @Scheduled(fixedDelayString = "${application.rate-limit.sweep-interval-ms}")
+    public void sweep() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+        overflowReported.set(false);
+    }
+
+    /**
+     * Takes one token from the bucket.
+     *
+     * @return 0 if the request is admitted, otherwise how long until a token is available
+     */
+    long acquire(String key, RouteGroup group, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                if (overflowReported.compareAndSet(false, true)) {
+                    log.warn("Rate limit table is full ({} clients), new clients share the overflow bucket of their group",
+                            maxBuckets);
+                }
+                bucket = overflowBuckets.computeIfAbsent(group.pattern(), pattern -> new AtomicLong(now));
+            } else {
+                bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+            }
+        }
+
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt - now, 0) + group.intervalNanos();
+            if (next > group.burstNanos()) {
+                return next - group.burstNanos();
+            }
+            if (bucket.compareAndSet(fullAt, now + next)) {
+                return 0;
+            }
+        }
+    }
+
+    private RouteGroup groupFor(String path) {
+        for (RouteGroup group : groups) {
+            if (pathMatcher.match(group.pattern(), path)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * A rate limit for paths matching {@code pattern}, written as {@code pattern:requestsPerSecond:burst}.
+     */
+    record RouteGroup(String pattern, long intervalNanos, long burstNanos) {
+        static RouteGroup parse(String spec) {
+            String[] parts = spec.split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Rate limit group must be pattern:requestsPerSecond:burst, got " + spec);
+            }
+            double perSecond = Double.parseDouble(parts[1]);
+            long burst = Long.parseLong(parts[2]);
+            if (perSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("Rate limit group needs a positive rate and burst: " + Arrays.toString(parts));
+            }
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            return new RouteGroup(parts[0], interval, interval * burst);
+        }
+    }
+}
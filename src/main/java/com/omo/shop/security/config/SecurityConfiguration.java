@@ -19,6 +19,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfiguration {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final AuthenticationProvider authenticationProvider;
     @Value("${api.prefix}")
     private String apiPrefix;
@@ -41,6 +42,10 @@ public class SecurityConfiguration {
                                         "/configuration/security"
                                 ).permitAll()
 
+                                // 🔒 METRICS ARE FOR ADMINS ONLY, HEALTH FOR ANY SIGNED-IN USER
+                                .requestMatchers("/actuator/health", "/actuator/health/**").authenticated()
+                                .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                                 .requestMatchers(apiPrefix + "/auth/**").permitAll()
                                 .requestMatchers(apiPrefix + "/users/create-user").permitAll()
                                 // 🔒 SECURE WRITE OPERATIONS FOR PRODUCTS
@@ -48,6 +53,8 @@ public class SecurityConfiguration {
                                 .hasRole("ADMIN") // /add
                                 .requestMatchers(HttpMethod.PUT, apiPrefix + "/products/**")
                                 .hasRole("ADMIN")
+                                .requestMatchers(HttpMethod.PATCH, apiPrefix + "/products/**")
+                                .hasRole("ADMIN")
                                 .requestMatchers(HttpMethod.DELETE, apiPrefix + "/products/**")
                                 .hasRole("ADMIN")
 
@@ -73,7 +80,8 @@ public class SecurityConfiguration {
                         mange.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authenticationProvider(authenticationProvider)
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
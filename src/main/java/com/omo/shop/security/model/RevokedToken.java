@@ -0,0 +1,23 @@
+package com.omo.shop.security.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+    // The token's jti claim
+    @Id
+    @Column(length = 36)
+    private String tokenId;
+    // Once the token itself has expired the row is no longer needed
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -1,48 +1,79 @@
 package com.omo.shop.security.service;
 
+import com.omo.shop.common.cache.BoundedCache;
 import com.omo.shop.security.userprincipal.ShopUserDetails;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
-    @Value("${application.security.jwt.secret-key}")
-    private String jwtSecret;
-
-    @Value("${application.security.jwt.expiration}")
-    private int expirationTime;
+    private final Key signingKey;
+    // Parsers are immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser;
+    private final int expirationTime;
+    private final BoundedCache<String, Claims> verifiedTokens;
+
+    public JwtService(@Value("${application.security.jwt.secret-key}") String jwtSecret,
+                      @Value("${application.security.jwt.expiration}") int expirationTime,
+                      @Value("${application.security.jwt.verified-cache-size}") int verifiedCacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.expirationTime = expirationTime;
+        this.verifiedTokens = new BoundedCache<>(verifiedCacheSize);
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(parseClaims(token));
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies the token and returns its claims. Recently verified tokens are served from a
+     * small bounded cache keyed by the token's SHA-256, so a repeat only costs a hash and an expiry check.
+     *
+     * @throws ExpiredJwtException if the token has expired
+     * @throws io.jsonwebtoken.JwtException if the token is malformed or its signature doesn't match
+     */
+    @Timed("shop.jwt.parse")
+    public Claims parseClaims(String token) {
+        String tokenHash = hash(token);
+        Claims claims = verifiedTokens.get(tokenHash);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(tokenHash, claims);
+        } else if (isExpired(claims)) {
+            verifiedTokens.remove(tokenHash);
+            throw new ExpiredJwtException(null, claims, "JWT expired at " + claims.getExpiration());
+        }
+        return claims;
     }
 
+    @Timed("shop.jwt.generate")
     public String generateTokenForUser(Authentication authentication) {
         ShopUserDetails userPrincipal = (ShopUserDetails) authentication.getPrincipal();
 
@@ -51,31 +82,51 @@ public class JwtService {
                 .map(GrantedAuthority::getAuthority).toList();
 
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userPrincipal.getEmail())
                 .claim("id", userPrincipal.getId())
                 .claim("roles", roles)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + expirationTime))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256).compact();
+                .signWith(signingKey, SignatureAlgorithm.HS256).compact();
 
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    /**
+     * Rebuilds the principal from the {@code id} and {@code roles} claims set by {@link #generateTokenForUser}.
+     *
+     * @return the user details, or {@code null} if the token predates those claims
+     */
+    public ShopUserDetails toUserDetails(Claims claims) {
+        Long id = claims.get("id", Long.class);
+        List<?> roles = claims.get("roles", List.class);
+        if (id == null || roles == null) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return new ShopUserDetails(id, claims.getSubject(), null, authorities);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return isTokenValid(parseClaims(token), userDetails);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims);
     }
 
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
+    }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
@@ -0,0 +1,104 @@
+package com.omo.shop.security.service;
+
+import com.omo.shop.security.model.RevokedToken;
+import com.omo.shop.security.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked token ids ({@code jti}) are stored in the {@code revoked_tokens} table and mirrored in memory,
+ * so checking a token costs no database round-trip. Most tokens were never revoked and are cleared by the
+ * Bloom filter alone; only its rare positives are confirmed against the exact map.
+ * <p>
+ * Revocations made on this instance apply immediately. Those made on other instances are picked up when
+ * {@link #refresh()} rebuilds the mirror from the database.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+
+    private volatile Snapshot snapshot;
+    // Held by revoke() and by refresh() around the swap, so no local revocation misses the new snapshot
+    private final Object swapLock = new Object();
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${application.security.revocation.expected-entries}") int expectedEntries,
+                                  @Value("${application.security.revocation.false-positive-rate}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.snapshot = new Snapshot(new BloomFilter(expectedEntries, falsePositiveRate), new ConcurrentHashMap<>());
+    }
+
+    public boolean isRevoked(Claims claims) {
+        String tokenId = claims.getId();
+        if (tokenId == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        return current.filter().mightContain(tokenId) && current.revoked().containsKey(tokenId);
+    }
+
+    /**
+     * Revokes the token until it expires. Tokens issued before the {@code jti} claim existed can't be revoked.
+     */
+    public void revoke(Claims claims) {
+        String tokenId = claims.getId();
+        if (tokenId == null) {
+            throw new IllegalArgumentException("Token has no id and can't be revoked");
+        }
+        Instant expiresAt = claims.getExpiration().toInstant();
+        revokedTokenRepository.save(RevokedToken.builder().tokenId(tokenId).expiresAt(expiresAt).build());
+        synchronized (swapLock) {
+            snapshot.add(tokenId, expiresAt);
+        }
+    }
+
+    /**
+     * Rebuilds the in-memory mirror from the database and drops rows of tokens that have expired anyway.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${application.security.revocation.refresh-interval-ms}")
+    public void refresh() {
+        Instant now = Instant.now();
+        int purged = revokedTokenRepository.deleteExpiredBefore(now);
+        List<RevokedToken> rows = revokedTokenRepository.findByExpiresAtAfter(now);
+
+        Snapshot rebuilt = new Snapshot(
+                new BloomFilter(Math.max(expectedEntries, rows.size() * 2), falsePositiveRate),
+                new ConcurrentHashMap<>());
+        rows.forEach(row -> rebuilt.add(row.getTokenId(), row.getExpiresAt()));
+
+        synchronized (swapLock) {
+            // Revocations made here while the rows were loading would otherwise be lost until the next run
+            snapshot.revoked().forEach((tokenId, expiresAt) -> {
+                if (expiresAt.isAfter(now) && !rebuilt.revoked().containsKey(tokenId)) {
+                    rebuilt.add(tokenId, expiresAt);
+                }
+            });
+            snapshot = rebuilt;
+        }
+        log.debug("Loaded {} revoked tokens, purged {} expired", rows.size(), purged);
+    }
+
+    private record Snapshot(BloomFilter filter, Map<String, Instant> revoked) {
+        void add(String tokenId, Instant expiresAt) {
+            // Exact entry first, so a concurrent reader that passes the filter also finds it
+            revoked.put(tokenId, expiresAt);
+            filter.add(tokenId);
+        }
+    }
+}
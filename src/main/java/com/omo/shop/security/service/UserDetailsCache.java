@@ -0,0 +1,85 @@
+package com.omo.shop.security.service;
+
+import com.omo.shop.common.cache.BoundedCache;
+import com.omo.shop.security.userprincipal.ShopUserDetails;
+import com.omo.shop.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Size- and TTL-bounded cache of {@link ShopUserDetails} by email, so the same user isn't looked up
+ * again by every filter, controller and service that handles a request. Entries are evicted by
+ * {@code UserService} when a user changes; the TTL bounds staleness from changes made elsewhere.
+ * Hits and misses are published as the standard {@code cache.gets} meters under {@code cache=userDetails}.
+ */
+@Component
+public class UserDetailsCache {
+    private static final String CACHE_NAME = "userDetails";
+
+    private final UserRepository userRepository;
+    private final Duration ttl;
+    private final BoundedCache<String, CachedUser> users;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public UserDetailsCache(UserRepository userRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${application.security.user-cache.ttl}") Duration ttl,
+                            @Value("${application.security.user-cache.max-entries}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttl = ttl;
+        this.users = new BoundedCache<>(maxEntries);
+
+        Tags tags = Tags.of("cache", CACHE_NAME);
+        this.hits = meterRegistry.counter("cache.gets", tags.and("result", "hit"));
+        this.misses = meterRegistry.counter("cache.gets", tags.and("result", "miss"));
+        this.evictions = meterRegistry.counter("cache.evictions", tags);
+        Gauge.builder("cache.size", this, UserDetailsCache::size)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the user with this email, loading it from the database on a miss. Unknown emails are not cached.
+     */
+    public Optional<ShopUserDetails> find(String email) {
+        CachedUser cached = users.get(email);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            hits.increment();
+            return Optional.of(cached.user());
+        }
+        misses.increment();
+
+        Optional<ShopUserDetails> user = userRepository.findByEmail(email).map(ShopUserDetails::buildUserDetails);
+        user.ifPresent(details -> users.put(email, new CachedUser(details, Instant.now().plus(ttl))));
+        return user;
+    }
+
+    public void evict(String email) {
+        if (users.remove(email) != null) {
+            evictions.increment();
+        }
+    }
+
+    public void evictUserId(Long userId) {
+        if (users.removeIf(cached -> userId.equals(cached.user().getId()))) {
+            evictions.increment();
+        }
+    }
+
+    private int size() {
+        return users.size();
+    }
+
+    private record CachedUser(ShopUserDetails user, Instant expiresAt) {
+    }
+}
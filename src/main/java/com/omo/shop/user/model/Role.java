@@ -16,9 +16,8 @@ import java.util.HashSet;
 @Entity
 public class Role {
     @Id
-    @GeneratedValue(
-            strategy = GenerationType.IDENTITY
-    )
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "role_seq")
+    @SequenceGenerator(name = "role_seq", allocationSize = 50)
     private Long id;
     private String name;
     @ManyToMany(
@@ -2,6 +2,8 @@ package com.omo.shop.user.service;
 
 import com.omo.shop.common.exceptions.AlreadyExistsException;
 import com.omo.shop.common.exceptions.ResourceNotFoundException;
+import com.omo.shop.security.service.UserDetailsCache;
+import com.omo.shop.security.userprincipal.ShopUserDetails;
 import com.omo.shop.user.UserMapper;
 import com.omo.shop.user.dto.UserDto;
 import com.omo.shop.user.model.User;
@@ -25,6 +27,7 @@ public class UserService implements IUserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     public UserDto getUserDtoById(Long userId) {
@@ -68,12 +71,14 @@ public class UserService implements IUserService {
                 }).orElseThrow(
                         () -> new ResourceNotFoundException(USER_NOT_FOUND)
                 );
+        userDetailsCache.evict(user.getEmail());
         return userMapper.toDto(user);
     }
 
     @Override
     public void deleteUser(Long userId) {
         userRepository.deleteById(userId);
+        userDetailsCache.evictUserId(userId);
     }
 
     @Override
@@ -83,7 +88,10 @@ public class UserService implements IUserService {
                 .getAuthentication();
         String email = authentication.getName();
 
-        return userRepository.findByEmail(email)
+        // Callers mostly need the id, so hand out a lazy reference instead of loading the row again
+        Long userId = userDetailsCache.find(email)
+                .map(ShopUserDetails::getId)
                 .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
+        return userRepository.getReferenceById(userId);
     }
 }
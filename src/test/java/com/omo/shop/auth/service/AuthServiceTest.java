@@ -1,7 +1,11 @@
 package com.omo.shop.auth.service;
 
 import com.omo.shop.auth.request.AuthRequest;
+import com.omo.shop.common.exceptions.ServerBusyException;
 import com.omo.shop.security.service.JwtService;
+import com.omo.shop.security.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import com.omo.shop.user.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,12 +14,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +42,12 @@ class AuthServiceTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private LoginVerifier loginVerifier;
+
     @Mock
     private AuthenticationManager authenticationManager;
 
@@ -38,6 +59,7 @@ class AuthServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(authService, "loginTimeout", Duration.ofSeconds(1));
     }
 
     @Test
@@ -47,8 +69,8 @@ class AuthServiceTest {
         AuthRequest request = new AuthRequest("test@example.com", "password123");
         String expectedToken = "mocked-jwt-token";
 
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(authentication);
+        when(loginVerifier.verify("test@example.com", "password123"))
+                .thenReturn(CompletableFuture.completedFuture(authentication));
         when(jwtService.generateTokenForUser(authentication)).thenReturn(expectedToken);
 
         // When
@@ -56,7 +78,7 @@ class AuthServiceTest {
 
         // Then
         assertEquals(expectedToken, actualToken);
-        verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
+        verify(loginVerifier).verify("test@example.com", "password123");
         verify(jwtService).generateTokenForUser(authentication);
     }
 
@@ -65,11 +87,75 @@ class AuthServiceTest {
     void authenticate_shouldThrowException_whenAuthenticationFails() {
         AuthRequest request = new AuthRequest("test@example.com", "wrongpass");
 
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenThrow(new RuntimeException("Bad credentials"));
+        when(loginVerifier.verify("test@example.com", "wrongpass"))
+                .thenReturn(CompletableFuture.failedFuture(new BadCredentialsException("Bad credentials")));
+
+        assertThrows(BadCredentialsException.class, () -> authService.authenticate(request));
+        verify(jwtService, never()).generateTokenForUser(any());
+    }
+
+    @Test
+    @DisplayName("should report busy when the login queue is full")
+    void authenticate_shouldThrowServerBusy_whenQueueIsFull() {
+        AuthRequest request = new AuthRequest("test@example.com", "password123");
 
-        assertThrows(RuntimeException.class, () -> authService.authenticate(request));
+        when(loginVerifier.verify("test@example.com", "password123"))
+                .thenThrow(new TaskRejectedException("Login queue is full"));
+
+        assertThrows(ServerBusyException.class, () -> authService.authenticate(request));
         verify(jwtService, never()).generateTokenForUser(any());
     }
 
+    @Test
+    @DisplayName("should report busy when verification takes longer than the timeout")
+    void authenticate_shouldThrowServerBusy_whenVerificationTimesOut() {
+        ReflectionTestUtils.setField(authService, "loginTimeout", Duration.ofMillis(10));
+        AuthRequest request = new AuthRequest("test@example.com", "password123");
+
+        when(loginVerifier.verify("test@example.com", "password123")).thenReturn(new CompletableFuture<>());
+
+        assertThrows(ServerBusyException.class, () -> authService.authenticate(request));
+    }
+
+    @Test
+    @DisplayName("should not verify a login that timed out while queued")
+    void authenticate_shouldSkipVerification_whenTimedOutInQueue() throws Exception {
+        ReflectionTestUtils.setField(authService, "loginTimeout", Duration.ofMillis(10));
+        AuthRequest request = new AuthRequest("test@example.com", "password123");
+        ExecutorService loginExecutor = Executors.newSingleThreadExecutor();
+        CountDownLatch busy = new CountDownLatch(1);
+        loginExecutor.execute(() -> awaitQuietly(busy));
+
+        // Submitted the way @Async submits a CompletableFuture-returning method
+        when(loginVerifier.verify("test@example.com", "password123")).thenReturn(CompletableFuture.supplyAsync(
+                () -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken("test@example.com", "password123")),
+                loginExecutor));
+
+        assertThrows(ServerBusyException.class, () -> authService.authenticate(request));
+        busy.countDown();
+        loginExecutor.shutdown();
+        assertTrue(loginExecutor.awaitTermination(5, TimeUnit.SECONDS));
+
+        verifyNoInteractions(authenticationManager);
+    }
+
+    @Test
+    @DisplayName("should revoke the token on logout")
+    void logout_shouldRevokeToken() {
+        Claims claims = Jwts.claims().setId("token-id");
+        when(jwtService.parseClaims("jwt")).thenReturn(claims);
+
+        authService.logout("jwt");
+
+        verify(tokenRevocationService).revoke(claims);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
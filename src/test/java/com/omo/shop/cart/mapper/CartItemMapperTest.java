@@ -2,6 +2,9 @@ package com.omo.shop.cart.mapper;
 
 import com.omo.shop.cart.dto.CartItemDto;
 import com.omo.shop.cart.model.CartItem;
+import com.omo.shop.product.dto.ProductDto;
+import com.omo.shop.product.mapper.ProductMapper;
+import com.omo.shop.product.model.Product;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,7 +12,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import java.math.BigDecimal;
 
@@ -20,21 +22,27 @@ import static org.mockito.Mockito.*;
 class CartItemMapperTest {
 
     @Mock
-    private ModelMapper modelMapper;
+    private ProductMapper productMapper;
 
     @InjectMocks
     private CartItemMapper cartItemMapper;
 
     private CartItem cartItem;
     private CartItemDto cartItemDto;
+    private Product product;
+    private ProductDto productDto;
 
     @BeforeEach
     void setUp() {
+        product = Product.builder().id(5L).name("Laptop").build();
+        productDto = ProductDto.builder().id(5L).name("Laptop").build();
+
         cartItem = CartItem.builder()
                 .id(1L)
                 .quantity(2)
                 .unitPrice(BigDecimal.valueOf(25))
                 .totalPrice(BigDecimal.valueOf(50))
+                .product(product)
                 .build();
 
         cartItemDto = CartItemDto.builder()
@@ -42,6 +50,7 @@ class CartItemMapperTest {
                 .quantity(2)
                 .unitPrice(BigDecimal.valueOf(25))
                 .totalPrice(BigDecimal.valueOf(50))
+                .product(productDto)
                 .build();
     }
 
@@ -49,30 +58,36 @@ class CartItemMapperTest {
     @DisplayName("should map cartItem to cartItemDto")
     void toDto_WithValidCartItem_ShouldMapCorrectly() {
         // Arrange
-        when(modelMapper.map(cartItem, CartItemDto.class)).thenReturn(cartItemDto);
+        when(productMapper.toDto(product)).thenReturn(productDto);
 
         // Act
         CartItemDto result = cartItemMapper.toDto(cartItem);
 
         // Assert
         assertThat(result).isNotNull();
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(result.getQuantity()).isEqualTo(2);
+        assertThat(result.getTotalPrice()).isEqualByComparingTo("50");
+        assertThat(result.getProduct()).isSameAs(productDto);
         assertThat(result.getCart()).isNull();
-        verify(modelMapper).map(cartItem, CartItemDto.class);
-        verifyNoMoreInteractions(modelMapper);
+        verify(productMapper).toDto(product);
+        verifyNoMoreInteractions(productMapper);
     }
 
     @Test
     @DisplayName("should map cartItemDto to cartItem")
     void toEntity_WithValidCartItemDto_ShouldMapCorrectly() {
         // Arrange
-        when(modelMapper.map(cartItemDto, CartItem.class)).thenReturn(cartItem);
+        when(productMapper.toEntity(productDto)).thenReturn(product);
 
         // Act
         CartItem result = cartItemMapper.toEntity(cartItemDto);
 
         // Assert
         assertThat(result).isNotNull();
-        verify(modelMapper).map(cartItemDto, CartItem.class);
-        verifyNoMoreInteractions(modelMapper);
+        assertThat(result.getUnitPrice()).isEqualByComparingTo("25");
+        assertThat(result.getProduct()).isSameAs(product);
+        verify(productMapper).toEntity(productDto);
+        verifyNoMoreInteractions(productMapper);
     }
 }
\ No newline at end of file
@@ -11,7 +11,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import java.math.BigDecimal;
 import java.util.HashSet;
@@ -24,9 +23,6 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class CartMapperTest {
 
-    @Mock
-    private ModelMapper modelMapper;
-
     @Mock
     private CartItemMapper cartItemMapper;
 
@@ -96,7 +92,6 @@ class CartMapperTest {
         itemDtos.add(cartItemDto1);
         itemDtos.add(cartItemDto2);
 
-        when(modelMapper.map(cart, CartDto.class)).thenReturn(cartDto);
         when(cartItemMapper.toDto(cartItem1)).thenReturn(cartItemDto1);
         when(cartItemMapper.toDto(cartItem2)).thenReturn(cartItemDto2);
 
@@ -106,7 +101,8 @@ class CartMapperTest {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getItems()).hasSize(2);
-        verify(modelMapper).map(cart, CartDto.class);
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(result.getTotalAmount()).isEqualByComparingTo("100");
         verify(cartItemMapper).toDto(cartItem1);
         verify(cartItemMapper).toDto(cartItem2);
     }
@@ -116,7 +112,6 @@ class CartMapperTest {
     void toDto_WithEmptyCart_ShouldReturnEmptyDto() {
         // Arrange
         cart.setItems(new HashSet<>());
-        when(modelMapper.map(cart, CartDto.class)).thenReturn(cartDto);
 
         // Act
         CartDto result = cartMapper.toDto(cart);
@@ -139,7 +134,6 @@ class CartMapperTest {
         items.add(cartItem1);
         items.add(cartItem2);
 
-        when(modelMapper.map(cartDto, Cart.class)).thenReturn(cart);
         when(cartItemMapper.toEntity(cartItemDto1)).thenReturn(cartItem1);
         when(cartItemMapper.toEntity(cartItemDto2)).thenReturn(cartItem2);
 
@@ -149,7 +143,8 @@ class CartMapperTest {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getItems()).hasSize(2);
-        verify(modelMapper).map(cartDto, Cart.class);
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(result.getTotalAmount()).isEqualByComparingTo("100");
         verify(cartItemMapper).toEntity(cartItemDto1);
         verify(cartItemMapper).toEntity(cartItemDto2);
     }
@@ -159,7 +154,6 @@ class CartMapperTest {
     void toEntity_WithEmptyCartDto_ShouldReturnEmptyEntity() {
         // Arrange
         cartDto.setItems(new HashSet<>());
-        when(modelMapper.map(cartDto, Cart.class)).thenReturn(cart);
 
         // Act
         Cart result = cartMapper.toEntity(cartDto);
@@ -174,7 +168,6 @@ class CartMapperTest {
     void toDto_WithNullItems_ShouldReturnEmptyDto() {
         // Arrange
         cart.setItems(null);
-        when(modelMapper.map(cart, CartDto.class)).thenReturn(cartDto);
 
         // Act
         CartDto result = cartMapper.toDto(cart);
@@ -189,7 +182,6 @@ class CartMapperTest {
     void toEntity_WithNullItems_ShouldReturnEmptyEntity() {
         // Arrange
         cartDto.setItems(null);
-        when(modelMapper.map(cartDto, Cart.class)).thenReturn(cart);
 
         // Act
         Cart result = cartMapper.toEntity(cartDto);
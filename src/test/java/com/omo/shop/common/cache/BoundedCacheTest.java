@@ -0,0 +1,48 @@
+package com.omo.shop.common.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    @Test
+    @DisplayName("Should keep the newest entry when a put goes over the bound")
+    void put_shouldEvictOthers_whenFull() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.get("c"));
+    }
+
+    @Test
+    @DisplayName("Should store nothing when the bound is zero")
+    void put_shouldNotStore_whenDisabled() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(0);
+
+        cache.put("a", 1);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should read the bound on every put")
+    void put_shouldFollowSuppliedBound() {
+        int[] max = {1};
+        BoundedCache<String, Integer> cache = new BoundedCache<>(() -> max[0]);
+
+        cache.put("a", 1);
+        cache.put("b", 2);
+        max[0] = 3;
+        cache.put("c", 3);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("a"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.omo.shop.common.logging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoggingFilterTest {
+
+    private final LoggingFilter filter = new LoggingFilter(true,
+            List.of("/api/v1/products/**:0", "/api/v1/images/**:1"));
+
+    @Test
+    @DisplayName("Should skip successful GETs on a route sampled at 0")
+    void shouldLog_shouldSample_successfulGets() {
+        assertFalse(filter.shouldLog(new MockHttpServletRequest("GET", "/api/v1/products/1"), 200));
+        assertTrue(filter.shouldLog(new MockHttpServletRequest("GET", "/api/v1/images/1"), 200));
+        assertTrue(filter.shouldLog(new MockHttpServletRequest("GET", "/api/v1/orders/1"), 200));
+    }
+
+    @Test
+    @DisplayName("Should always log errors and writes")
+    void shouldLog_shouldNotSample_errorsOrWrites() {
+        assertTrue(filter.shouldLog(new MockHttpServletRequest("GET", "/api/v1/products/1"), 404));
+        assertTrue(filter.shouldLog(new MockHttpServletRequest("POST", "/api/v1/products/add"), 201));
+    }
+
+    @Test
+    @DisplayName("Should count response bytes without changing the body")
+    void countingResponseWrapper_shouldCountBytes() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CountingResponseWrapper counting = new CountingResponseWrapper(response);
+
+        counting.getOutputStream().write("{\"ok\":true}".getBytes());
+
+        assertEquals(11, counting.getCount());
+        assertEquals("{\"ok\":true}", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Should report the Content-Length of bodies handed to sendfile")
+    void bytesSent_shouldUseContentLength_whenSentWithSendfile() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/images/1");
+        CountingResponseWrapper counting = new CountingResponseWrapper(new MockHttpServletResponse());
+        counting.setContentLengthLong(4096);
+
+        assertEquals(0, LoggingFilter.bytesSent(request, counting));
+
+        request.setAttribute("org.apache.tomcat.sendfile.filename", "/data/images/ab/cd/abcd");
+        assertEquals(4096, LoggingFilter.bytesSent(request, counting));
+    }
+
+    @Test
+    @DisplayName("Should reject sampling rates outside 0..1")
+    void sampledRoute_shouldRejectInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> LoggingFilter.SampledRoute.parse("/x:2"));
+        assertThrows(IllegalArgumentException.class, () -> LoggingFilter.SampledRoute.parse("/x"));
+    }
+}
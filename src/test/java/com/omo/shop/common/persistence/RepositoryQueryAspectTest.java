@@ -0,0 +1,38 @@
+package com.omo.shop.common.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepositoryQueryAspectTest {
+
+    @Test
+    @DisplayName("Should mask inline literals but keep the statement shape")
+    void redact_shouldMaskLiterals() {
+        String sql = "select p.id from product p\n where p.name = 'secret' and p.inventory >= 5 and p.id in (1, 2)";
+
+        assertEquals("select p.id from product p where p.name = ? and p.inventory >= ? and p.id in (?, ?)",
+                RepositoryQueryAspect.redact(sql));
+    }
+
+    @Test
+    @DisplayName("Should attribute statements to the recording on the current thread")
+    void queryInspector_shouldRecordStatements_whileRecording() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Counter unattributed = registry.counter("unattributed");
+        QueryInspector inspector = new QueryInspector(unattributed);
+
+        QueryInspector.Recording recording = QueryInspector.startRecording();
+        assertNull(QueryInspector.startRecording());
+        inspector.inspect("select 1");
+        inspector.inspect("select 2");
+        QueryInspector.stopRecording();
+        inspector.inspect("select 3");
+
+        assertEquals(2, recording.count());
+        assertEquals(1.0, unattributed.count());
+    }
+}
@@ -0,0 +1,145 @@
+package com.omo.shop.image.controller;
+
+import com.omo.shop.common.exceptions.ResourceNotFoundException;
+import com.omo.shop.image.dto.ImageContent;
+import com.omo.shop.image.service.IImageService;
+import com.omo.shop.security.service.JwtService;
+import com.omo.shop.security.service.TokenRevocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ImageController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ImageControllerTest {
+
+    private static final String HASH = "a".repeat(64);
+    private static final String ETAG = "\"" + HASH + "\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private IImageService imageService;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        ImageContent content = new ImageContent("test.png", "image/png", 10, HASH, null,
+                Instant.parse("2025-01-01T00:00:00Z"),
+                new ByteArrayResource("0123456789".getBytes()));
+        when(imageService.getImageContent(1L, null)).thenReturn(content);
+    }
+
+    @Test
+    @DisplayName("Should download the full image with validators")
+    void downloadImage_Success() throws Exception {
+        mockMvc.perform(get("/api/v1/images/download/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+                .andExpect(content().bytes("0123456789".getBytes()));
+    }
+
+    @Test
+    @DisplayName("Should mark versioned downloads as immutable")
+    void downloadImage_Versioned() throws Exception {
+        mockMvc.perform(get("/api/v1/images/download/{id}", 1L).param("v", HASH))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")));
+    }
+
+    @Test
+    @DisplayName("Should serve a derivative with its own ETag")
+    void downloadImage_Derivative() throws Exception {
+        ImageContent thumbnail = new ImageContent("test.png", "image/png", 3, HASH, 200,
+                Instant.parse("2025-01-01T00:00:00Z"),
+                new ByteArrayResource("abc".getBytes()));
+        when(imageService.getImageContent(1L, 150)).thenReturn(thumbnail);
+
+        mockMvc.perform(get("/api/v1/images/download/{id}", 1L)
+                        .param("size", "150")
+                        .param("v", HASH))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASH + "-200\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(content().bytes("abc".getBytes()));
+    }
+
+    @Test
+    @DisplayName("Should return not modified when the ETag matches")
+    void downloadImage_NotModified() throws Exception {
+        mockMvc.perform(get("/api/v1/images/download/{id}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Should return partial content for a byte range")
+    void downloadImage_PartialContent() throws Exception {
+        mockMvc.perform(get("/api/v1/images/download/{id}", 1L)
+                        .header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().bytes("2345".getBytes()));
+    }
+
+    @Test
+    @DisplayName("Should ignore the range when If-Range does not match")
+    void downloadImage_IfRangeMismatch() throws Exception {
+        mockMvc.perform(get("/api/v1/images/download/{id}", 1L)
+                        .header(HttpHeaders.RANGE, "bytes=2-5")
+                        .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes("0123456789".getBytes()));
+    }
+
+    @Test
+    @DisplayName("Should reject unsatisfiable ranges")
+    void downloadImage_RangeNotSatisfiable() throws Exception {
+        mockMvc.perform(get("/api/v1/images/download/{id}", 1L)
+                        .header(HttpHeaders.RANGE, "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    @DisplayName("Should ignore a malformed range and return the full body")
+    void downloadImage_MalformedRange() throws Exception {
+        mockMvc.perform(get("/api/v1/images/download/{id}", 1L)
+                        .header(HttpHeaders.RANGE, "bytes=garbage"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes("0123456789".getBytes()));
+    }
+
+    @Test
+    @DisplayName("Should return not found when the image does not exist")
+    void downloadImage_NotFound() throws Exception {
+        when(imageService.getImageContent(2L, null)).thenThrow(ResourceNotFoundException.class);
+
+        mockMvc.perform(get("/api/v1/images/download/{id}", 2L))
+                .andExpect(status().isNotFound());
+    }
+}
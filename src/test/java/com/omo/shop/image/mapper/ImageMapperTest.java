@@ -5,28 +5,16 @@ import com.omo.shop.image.model.Image;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import javax.sql.rowset.serial.SerialBlob;
 import java.sql.Blob;
 import java.sql.SQLException;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
-@ExtendWith(MockitoExtension.class)
 class ImageMapperTest {
 
-    @Mock
-    private ModelMapper modelMapper;
-
-    @InjectMocks
-    private ImageMapper imageMapper;
+    private final ImageMapper imageMapper = new ImageMapper();
 
     private Image image;
     private ImageDto imageDto;
@@ -38,37 +26,37 @@ class ImageMapperTest {
         byte[] data = new byte[]{1, 2, 3};
         Blob blob = new SerialBlob(data);
         image.setImage(blob);
+        image.setFileName("photo.png");
+        image.setDownloadUrl("/api/v1/images/download/1");
 
         imageDto = new ImageDto();
         imageDto.setId(1L);
+        imageDto.setFileName("photo.png");
     }
 
     @Test
     @DisplayName("should map Image to ImageDto")
     void toDto_WithValidImage_ShouldMapCorrectly() {
-        // Arrange
-        when(modelMapper.map(image, ImageDto.class)).thenReturn(imageDto);
-
         // Act
         ImageDto result = imageMapper.toDto(image);
 
         // Assert
         assertThat(result).isNotNull();
-        verify(modelMapper).map(image, ImageDto.class);
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(result.getFileName()).isEqualTo("photo.png");
+        assertThat(result.getDownloadUrl()).isEqualTo("/api/v1/images/download/1");
     }
 
     @Test
     @DisplayName("should map ImageDto to Image with null image data")
     void toEntity_WithValidImageDto_ShouldMapCorrectly() {
-        // Arrange
-        when(modelMapper.map(imageDto, Image.class)).thenReturn(image);
-
         // Act
         Image result = imageMapper.toEntity(imageDto);
 
         // Assert
         assertThat(result).isNotNull();
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(result.getFileName()).isEqualTo("photo.png");
         assertThat(result.getImage()).isNull();
-        verify(modelMapper).map(imageDto, Image.class);
     }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.omo.shop.image.service;
+
+import com.omo.shop.image.repository.ImageRepository;
+import com.omo.shop.image.store.ImageStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageContentSweeperTest {
+
+    @Mock
+    private ImageStore imageStore;
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Test
+    @DisplayName("Should delete only stale content that no image references")
+    void sweep_shouldDeleteUnreferencedContent() throws IOException {
+        ImageContentSweeper sweeper = new ImageContentSweeper(imageStore, imageRepository, Duration.ofHours(1));
+        when(imageStore.contentHashesNotModifiedSince(any())).thenReturn(Stream.of("used", "orphan"));
+        when(imageRepository.findContentHashesIn(List.of("used", "orphan"))).thenReturn(Set.of("used"));
+
+        sweeper.sweep();
+
+        verify(imageStore).deleteIfNotModifiedSince(eq("orphan"), any());
+        verify(imageStore, never()).deleteIfNotModifiedSince(eq("used"), any());
+    }
+}
@@ -0,0 +1,67 @@
+package com.omo.shop.image.service;
+
+import com.omo.shop.image.store.FileSystemImageStore;
+import com.omo.shop.image.store.StoredImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageDerivativeServiceTest {
+
+    @TempDir
+    Path root;
+
+    private FileSystemImageStore imageStore;
+    private ImageDerivativeService derivativeService;
+
+    @BeforeEach
+    void setUp() {
+        imageStore = new FileSystemImageStore(root.toString());
+        derivativeService = new ImageDerivativeService(imageStore);
+        ReflectionTestUtils.setField(derivativeService, "sizes", new int[]{200, 400, 2000});
+    }
+
+    @Test
+    @DisplayName("Should generate downscaled derivatives and skip sizes larger than the original")
+    void generateDerivatives_shouldStoreScaledImages() throws IOException {
+        StoredImage stored = imageStore.save(png(1000, 500));
+
+        derivativeService.generateDerivatives(stored.getContentHash(), "image/png");
+
+        Resource thumbnail = derivativeService.findDerivative(stored.getContentHash(), 200).orElseThrow();
+        try (InputStream in = thumbnail.getInputStream()) {
+            BufferedImage scaled = ImageIO.read(in);
+            assertEquals(200, scaled.getWidth());
+            assertEquals(100, scaled.getHeight());
+        }
+        assertTrue(imageStore.hasDerivative(stored.getContentHash(), 400));
+        assertFalse(imageStore.hasDerivative(stored.getContentHash(), 2000));
+    }
+
+    @Test
+    @DisplayName("Should resolve the smallest configured size covering the request")
+    void resolveSize_shouldPickSmallestCoveringSize() {
+        assertEquals(200, derivativeService.resolveSize(150).getAsInt());
+        assertEquals(400, derivativeService.resolveSize(201).getAsInt());
+        assertTrue(derivativeService.resolveSize(5000).isEmpty());
+    }
+
+    private InputStream png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+}
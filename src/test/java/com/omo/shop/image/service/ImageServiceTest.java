@@ -6,6 +6,8 @@ import com.omo.shop.image.dto.ImageDto;
 import com.omo.shop.image.mapper.ImageMapper;
 import com.omo.shop.image.model.Image;
 import com.omo.shop.image.repository.ImageRepository;
+import com.omo.shop.image.store.ImageStore;
+import com.omo.shop.image.store.StoredImage;
 import com.omo.shop.product.dto.ProductDto;
 import com.omo.shop.product.mapper.ProductMapper;
 import com.omo.shop.product.service.IProductService;
@@ -44,6 +46,12 @@ class ImageServiceTest {
     @Mock
     private ImageMapper imageMapper;
 
+    @Mock
+    private ImageStore imageStore;
+
+    @Mock
+    private ImageDerivativeService derivativeService;
+
     @InjectMocks
     private ImageService imageService;
 
@@ -51,6 +59,7 @@ class ImageServiceTest {
     private ImageDto imageDto;
     private ProductDto productDto;
 
+    private static final String HASH = "a".repeat(64);
     @BeforeEach
     void setUp() throws SQLException {
 
@@ -110,6 +119,7 @@ class ImageServiceTest {
 
         when(productService.getProductById(1L)).thenReturn(productDto);
         when(productMapper.toEntity(productDto)).thenReturn(image.getProduct());
+        when(imageStore.save(any())).thenReturn(new StoredImage(HASH, 11));
         when(imageRepository.save(any(Image.class))).thenReturn(image);
         when(imageMapper.toDto(any(Image.class))).thenReturn(imageDto);
 
@@ -117,7 +127,9 @@ class ImageServiceTest {
 
         assertEquals(1, result.size());
         assertEquals("test.png", result.get(0).getFileName());
+        verify(imageStore).save(any());
         verify(imageRepository, atLeastOnce()).save(any(Image.class));
+        verify(derivativeService).generateDerivatives(HASH, "image/png");
     }
 
     @Test
@@ -125,13 +137,25 @@ class ImageServiceTest {
     void updateImage_shouldUpdateImageSuccessfully() throws IOException, SQLException {
         MockMultipartFile file = new MockMultipartFile("file", "updated.png", "image/png", "new-image".getBytes());
 
-        when(imageMapper.toEntity(any())).thenReturn(image);
+        when(imageStore.save(any())).thenReturn(new StoredImage(HASH, 9));
         when(imageRepository.save(image)).thenReturn(image);
         when(imageRepository.findById(1L)).thenReturn(Optional.of(image));
 
         imageService.updateImage(file, 1L);
 
         verify(imageRepository).save(image);
+        verify(derivativeService).generateDerivatives(HASH, "image/png");
+        assertEquals(HASH, image.getContentHash());
+        assertNull(image.getImage());
+    }
+
+    @Test
+    @DisplayName("Should leave stored content to the sweeper when deleting an image")
+    void deleteImageById_shouldNotDeleteStoredContent() {
+        imageService.deleteImageById(1L);
+
+        verify(imageRepository).deleteById(1L);
+        verifyNoInteractions(imageStore);
     }
 
     @Test
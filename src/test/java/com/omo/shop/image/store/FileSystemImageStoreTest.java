@@ -0,0 +1,96 @@
+package com.omo.shop.image.store;
+
+import com.omo.shop.common.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSystemImageStoreTest {
+
+    @TempDir
+    Path root;
+
+    private FileSystemImageStore imageStore;
+
+    @BeforeEach
+    void setUp() {
+        imageStore = new FileSystemImageStore(root.toString());
+    }
+
+    @Test
+    @DisplayName("Should store content under its SHA-256 hash")
+    void save_shouldStoreContentByHash() throws IOException {
+        StoredImage stored = imageStore.save(stream("image-bytes"));
+
+        assertEquals(64, stored.getContentHash().length());
+        assertEquals(11, stored.getSize());
+        Resource resource = imageStore.load(stored.getContentHash());
+        try (InputStream in = resource.getInputStream()) {
+            assertArrayEquals("image-bytes".getBytes(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Should deduplicate identical uploads")
+    void save_shouldDeduplicateIdenticalContent() throws IOException {
+        StoredImage first = imageStore.save(stream("same"));
+        StoredImage second = imageStore.save(stream("same"));
+
+        assertEquals(first.getContentHash(), second.getContentHash());
+        try (Stream<Path> files = Files.walk(root)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should delete content not uploaded since the cutoff")
+    void deleteIfNotModifiedSince_shouldRemoveContent() throws IOException {
+        StoredImage stored = imageStore.save(stream("to-delete"));
+
+        assertTrue(imageStore.deleteIfNotModifiedSince(stored.getContentHash(), Instant.now().plusSeconds(60)));
+
+        assertThrows(ResourceNotFoundException.class, () -> imageStore.load(stored.getContentHash()));
+    }
+
+    @Test
+    @DisplayName("Should keep content that was uploaded again after the cutoff")
+    void deleteIfNotModifiedSince_shouldKeepContent_whenDeduplicatedOntoRecently() throws IOException {
+        StoredImage stored = imageStore.save(stream("shared"));
+        Path file = imageStore.load(stored.getContentHash()).getFile().toPath();
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+        Instant cutoff = Instant.now().minus(Duration.ofHours(1));
+
+        try (Stream<String> stale = imageStore.contentHashesNotModifiedSince(cutoff)) {
+            assertEquals(List.of(stored.getContentHash()), stale.toList());
+        }
+        imageStore.save(stream("shared"));
+
+        assertFalse(imageStore.deleteIfNotModifiedSince(stored.getContentHash(), cutoff));
+        assertNotNull(imageStore.load(stored.getContentHash()));
+    }
+
+    @Test
+    @DisplayName("Should reject hashes that could escape the store root")
+    void load_shouldRejectInvalidHash() {
+        assertThrows(IllegalArgumentException.class, () -> imageStore.load("../../etc/passwd"));
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes());
+    }
+}
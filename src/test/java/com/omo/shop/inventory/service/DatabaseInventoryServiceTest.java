@@ -0,0 +1,50 @@
+package com.omo.shop.inventory.service;
+
+import com.omo.shop.common.exceptions.InsufficientStockException;
+import com.omo.shop.product.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseInventoryServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private DatabaseInventoryService inventoryService;
+
+    @Test
+    @DisplayName("Should decrement every product in id order")
+    void reserve_shouldDecrementInIdOrder() {
+        when(productRepository.decrementInventory(1L, 2)).thenReturn(1);
+        when(productRepository.decrementInventory(2L, 1)).thenReturn(1);
+
+        inventoryService.reserve(Map.of(2L, 1, 1L, 2));
+
+        InOrder inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).decrementInventory(1L, 2);
+        inOrder.verify(productRepository).decrementInventory(2L, 1);
+    }
+
+    @Test
+    @DisplayName("Should throw when a product doesn't have enough stock")
+    void reserve_shouldThrow_whenStockIsInsufficient() {
+        when(productRepository.decrementInventory(1L, 2)).thenReturn(0);
+
+        assertThrows(InsufficientStockException.class,
+                () -> inventoryService.reserve(Map.of(1L, 2, 2L, 1)));
+
+        verify(productRepository, never()).decrementInventory(2L, 1);
+    }
+}
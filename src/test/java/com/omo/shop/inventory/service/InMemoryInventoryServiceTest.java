@@ -0,0 +1,144 @@
+package com.omo.shop.inventory.service;
+
+import com.omo.shop.common.exceptions.InsufficientStockException;
+import com.omo.shop.inventory.dto.ProductInventory;
+import com.omo.shop.product.model.Product;
+import com.omo.shop.product.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryInventoryServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryInventoryService inventoryService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = createService(Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should take stock in memory and flush the sale to the database")
+    void reserve_shouldTakeStock_andFlushDelta() {
+        stubInventory(1L, 5);
+
+        inventoryService.reserve(Map.of(1L, 2));
+        assertEquals(3, inventoryService.available(1L));
+
+        inventoryService.flush();
+        inventoryService.flush();
+
+        verify(productRepository, times(1)).subtractInventory(1L, 2);
+    }
+
+    @Test
+    @DisplayName("Should take nothing when one product doesn't have enough stock")
+    void reserve_shouldBeAllOrNothing() {
+        stubInventory(1L, 5);
+        stubInventory(2L, 1);
+
+        assertThrows(InsufficientStockException.class,
+                () -> inventoryService.reserve(Map.of(1L, 2, 2L, 3)));
+
+        assertEquals(5, inventoryService.available(1L));
+        assertEquals(1, inventoryService.available(2L));
+        inventoryService.flush();
+        verify(productRepository, never()).subtractInventory(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should give stock back when the transaction rolls back")
+    void reserve_shouldReleaseHold_onRollback() {
+        stubInventory(1L, 5);
+        TransactionSynchronizationManager.initSynchronization();
+
+        inventoryService.reserve(Map.of(1L, 2));
+        assertEquals(3, inventoryService.available(1L));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(5, inventoryService.available(1L));
+        inventoryService.flush();
+        verify(productRepository, never()).subtractInventory(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should give stock back when a hold expires")
+    void releaseExpiredHolds_shouldReturnStock() {
+        inventoryService = createService(Duration.ofMillis(-1));
+        stubInventory(1L, 5);
+        TransactionSynchronizationManager.initSynchronization();
+
+        inventoryService.reserve(Map.of(1L, 2));
+        inventoryService.releaseExpiredHolds();
+
+        assertEquals(5, inventoryService.available(1L));
+    }
+
+    @Test
+    @DisplayName("Should reload stock from the database minus unflushed sales")
+    void reconcile_shouldApplyDatabaseStock() {
+        stubInventory(1L, 5);
+        inventoryService.reserve(Map.of(1L, 2));
+        when(productRepository.findInventoryByIdIn(List.of(1L))).thenReturn(List.of(inventory(1L, 10)));
+
+        inventoryService.reconcile();
+
+        assertEquals(8, inventoryService.available(1L));
+    }
+
+    private InMemoryInventoryService createService(Duration holdTtl) {
+        return new InMemoryInventoryService(
+                productRepository, new TransactionTemplate(transactionManager), holdTtl, 100, 16);
+    }
+
+    private void stubInventory(Long productId, int inventory) {
+        when(productRepository.findById(productId))
+                .thenReturn(Optional.of(Product.builder().id(productId).inventory(inventory).build()));
+    }
+
+    private static ProductInventory inventory(Long productId, int inventory) {
+        return new ProductInventory() {
+            @Override
+            public Long getId() {
+                return productId;
+            }
+
+            @Override
+            public int getInventory() {
+                return inventory;
+            }
+        };
+    }
+}
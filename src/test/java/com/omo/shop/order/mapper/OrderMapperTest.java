@@ -0,0 +1,84 @@
+package com.omo.shop.order.mapper;
+
+import com.omo.shop.order.dto.OrderDto;
+import com.omo.shop.order.dto.OrderHistoryRow;
+import com.omo.shop.order.enums.OrderStatus;
+import com.omo.shop.order.model.Order;
+import com.omo.shop.order.model.OrderItem;
+import com.omo.shop.product.model.Product;
+import com.omo.shop.user.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderMapperTest {
+
+    @Mock
+    private OrderItemMapper orderItemMapper;
+
+    @InjectMocks
+    private OrderMapper orderMapper;
+
+    @Test
+    @DisplayName("should group history rows into orders in row order")
+    void toDtoListFromRows_ShouldGroupItemsByOrder() {
+        List<OrderHistoryRow> rows = List.of(
+                row(2L, null, null),
+                row(1L, 10L, 100L),
+                row(1L, 11L, 101L));
+
+        List<OrderDto> result = orderMapper.toDtoListFromRows(rows);
+
+        assertThat(result).extracting(OrderDto::getOrderId).containsExactly(2L, 1L);
+        assertThat(result.get(0).getOrderItems()).isEmpty();
+        assertThat(result.get(1).getOrderItems()).hasSize(2);
+        assertThat(result.get(1).getOrderStatus()).isEqualTo("PENDING");
+        verifyNoInteractions(orderItemMapper);
+    }
+
+    @Test
+    @DisplayName("should map order with user id and item product ids")
+    void toDto_ShouldFlattenUserAndProductIds() {
+        Order order = Order.builder()
+                .orderId(1L)
+                .user(User.builder().id(9L).build())
+                .orderStatus(OrderStatus.SHIPPED)
+                .totalPrice(BigDecimal.TEN)
+                .orderItems(Set.of(OrderItem.builder()
+                        .id(4L)
+                        .product(Product.builder().id(100L).build())
+                        .price(BigDecimal.TEN)
+                        .quantity(1)
+                        .build()))
+                .build();
+
+        OrderDto result = new OrderMapper(new OrderItemMapper()).toDto(order);
+
+        assertThat(result.getUserId()).isEqualTo(9L);
+        assertThat(result.getOrderStatus()).isEqualTo("SHIPPED");
+        assertThat(result.getOrderItems()).singleElement()
+                .satisfies(item -> assertThat(item.getProductId()).isEqualTo(100L));
+    }
+
+    private OrderHistoryRow row(Long orderId, Long itemId, Long productId) {
+        OrderHistoryRow row = mock(OrderHistoryRow.class);
+        lenient().when(row.getOrderId()).thenReturn(orderId);
+        lenient().when(row.getOrderStatus()).thenReturn(OrderStatus.PENDING);
+        lenient().when(row.getItemId()).thenReturn(itemId);
+        lenient().when(row.getProductId()).thenReturn(productId);
+        lenient().when(row.getPrice()).thenReturn(BigDecimal.TEN);
+        lenient().when(row.getQuantity()).thenReturn(1);
+        return row;
+    }
+}
@@ -0,0 +1,132 @@
+package com.omo.shop.order.repository;
+
+import com.omo.shop.category.model.Category;
+import com.omo.shop.order.dto.OrderHistoryRow;
+import com.omo.shop.order.dto.OrderKey;
+import com.omo.shop.order.enums.OrderStatus;
+import com.omo.shop.order.model.Order;
+import com.omo.shop.order.model.OrderItem;
+import com.omo.shop.product.model.Product;
+import com.omo.shop.product.repository.ProductRepository;
+import com.omo.shop.user.model.User;
+import com.omo.shop.user.repository.UserRepository;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional
+class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private Product product;
+    private Order olderOrder;
+    private Order newerOrder;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder().build());
+        product = productRepository.save(Product.builder()
+                .name("Laptop X")
+                .price(BigDecimal.valueOf(1500))
+                .category(Category.builder().name("Electronics").build())
+                .build());
+
+        olderOrder = Order.builder()
+                .user(user)
+                .orderStatus(OrderStatus.PENDING)
+                .orderDataTime(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .totalPrice(BigDecimal.valueOf(3000))
+                .orderItems(new HashSet<>())
+                .build();
+        olderOrder.getOrderItems().add(OrderItem.builder()
+                .order(olderOrder)
+                .product(product)
+                .quantity(2)
+                .price(BigDecimal.valueOf(1500))
+                .build());
+
+        newerOrder = Order.builder()
+                .user(user)
+                .orderStatus(OrderStatus.PENDING)
+                .orderDataTime(LocalDateTime.of(2024, 2, 1, 10, 0))
+                .totalPrice(BigDecimal.ZERO)
+                .orderItems(new HashSet<>())
+                .build();
+
+        orderRepository.saveAll(List.of(olderOrder, newerOrder));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should return one history row per item, newest order first")
+    void findOrderHistoryRows_shouldReturnFlatRows() {
+        List<OrderHistoryRow> rows = orderRepository.findOrderHistoryRows(user.getId());
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getOrderId()).isEqualTo(newerOrder.getOrderId());
+        assertThat(rows.get(0).getItemId()).isNull();
+        assertThat(rows.get(1).getOrderId()).isEqualTo(olderOrder.getOrderId());
+        assertThat(rows.get(1).getProductId()).isEqualTo(product.getId());
+        assertThat(rows.get(1).getQuantity()).isEqualTo(2);
+        assertThat(rows.get(1).getUserId()).isEqualTo(user.getId());
+    }
+
+    @Test
+    @DisplayName("Should load the order together with its items")
+    void findWithItemsByOrderId_shouldFetchItems() {
+        Order result = orderRepository.findWithItemsByOrderId(olderOrder.getOrderId()).orElseThrow();
+        entityManager.clear();
+
+        Set<OrderItem> items = result.getOrderItems();
+        assertThat(items).hasSize(1);
+        assertThat(items.iterator().next().getProduct().getName()).isEqualTo("Laptop X");
+    }
+
+    @Test
+    @DisplayName("Should page order keys newest first within the date range")
+    void findOrderKeys_shouldPageWithinRange() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+        List<OrderKey> firstPage = orderRepository.findOrderKeys(user.getId(), from, to, Limit.of(1));
+        assertThat(firstPage).extracting(OrderKey::getOrderId).containsExactly(newerOrder.getOrderId());
+
+        OrderKey last = firstPage.get(0);
+        List<OrderKey> nextPage = orderRepository.findOrderKeysAfter(
+                user.getId(), from, to, last.getOrderDataTime(), last.getOrderId(), Limit.of(10));
+        assertThat(nextPage).extracting(OrderKey::getOrderId).containsExactly(olderOrder.getOrderId());
+    }
+
+    @Test
+    @DisplayName("Should exclude orders outside the date range")
+    void findOrderKeys_shouldExcludeOrdersOutsideRange() {
+        List<OrderKey> result = orderRepository.findOrderKeys(user.getId(),
+                LocalDateTime.of(2024, 1, 15, 0, 0), LocalDateTime.of(2024, 3, 1, 0, 0), Limit.of(10));
+
+        assertThat(result).extracting(OrderKey::getOrderId).containsExactly(newerOrder.getOrderId());
+    }
+}
@@ -0,0 +1,221 @@
+package com.omo.shop.order.service;
+
+import com.omo.shop.common.exceptions.IdempotencyKeyConflictException;
+import com.omo.shop.common.exceptions.InsufficientStockException;
+import com.omo.shop.order.dto.OrderDto;
+import com.omo.shop.order.model.OrderIdempotencyKey;
+import com.omo.shop.order.repository.OrderIdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static com.omo.shop.common.constants.ExceptionMessages.IDEMPOTENCY_KEY_IN_PROGRESS;
+import static com.omo.shop.common.constants.ExceptionMessages.IDEMPOTENCY_KEY_REUSED;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIdempotencyServiceTest {
+
+    @Mock
+    private IOrderService orderService;
+
+    @Mock
+    private OrderIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderIdempotencyService idempotencyService;
+
+    private OrderDto orderDto;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new OrderIdempotencyService(orderService, idempotencyKeyRepository,
+                new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(idempotencyService, "claimTimeout", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(idempotencyService, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(idempotencyService, "maxEntries", 10);
+        ReflectionTestUtils.setField(idempotencyService, "persistent", false);
+
+        orderDto = OrderDto.builder().orderId(5L).build();
+    }
+
+    @Test
+    @DisplayName("Should replay the first order to a retry with the same key")
+    void placeOrder_shouldReplay_whenKeyIsRepeated() {
+        when(orderService.placeOrder(1L, 1L)).thenReturn(orderDto);
+
+        OrderDto first = idempotencyService.placeOrder(1L, 1L, "key-1");
+        OrderDto retry = idempotencyService.placeOrder(1L, 1L, "key-1");
+
+        assertSame(first, retry);
+        verify(orderService, times(1)).placeOrder(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should scope keys to the user")
+    void placeOrder_shouldNotShareKeysBetweenUsers() {
+        when(orderService.placeOrder(anyLong(), eq(1L))).thenReturn(orderDto);
+
+        idempotencyService.placeOrder(1L, 1L, "key-1");
+        idempotencyService.placeOrder(2L, 1L, "key-1");
+
+        verify(orderService).placeOrder(1L, 1L);
+        verify(orderService).placeOrder(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different address")
+    void placeOrder_shouldThrow_whenKeyIsReusedWithDifferentAddress() {
+        when(orderService.placeOrder(1L, 1L)).thenReturn(orderDto);
+        idempotencyService.placeOrder(1L, 1L, "key-1");
+
+        IdempotencyKeyConflictException exception = assertThrows(IdempotencyKeyConflictException.class,
+                () -> idempotencyService.placeOrder(1L, 2L, "key-1"));
+
+        assertEquals(IDEMPOTENCY_KEY_REUSED, exception.getMessage());
+        verify(orderService, never()).placeOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should not remember failed attempts")
+    void placeOrder_shouldRetry_whenFirstAttemptFailed() {
+        when(orderService.placeOrder(1L, 1L))
+                .thenThrow(new InsufficientStockException("Not enough stock for product: 1"))
+                .thenReturn(orderDto);
+
+        assertThrows(InsufficientStockException.class, () -> idempotencyService.placeOrder(1L, 1L, "key-1"));
+        OrderDto result = idempotencyService.placeOrder(1L, 1L, "key-1");
+
+        assertSame(orderDto, result);
+        verify(orderService, times(2)).placeOrder(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should evict the eldest key when the cache is full")
+    void placeOrder_shouldEvictEldest_whenCacheIsFull() {
+        ReflectionTestUtils.setField(idempotencyService, "maxEntries", 1);
+        when(orderService.placeOrder(1L, 1L)).thenReturn(orderDto);
+
+        idempotencyService.placeOrder(1L, 1L, "key-1");
+        idempotencyService.placeOrder(1L, 1L, "key-2");
+        idempotencyService.placeOrder(1L, 1L, "key-1");
+
+        verify(orderService, times(3)).placeOrder(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should reject blank keys")
+    void placeOrder_shouldThrow_whenKeyIsBlank() {
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.placeOrder(1L, 1L, " "));
+
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    @DisplayName("Should record the order id on the claimed key")
+    void placeOrder_shouldStoreOrderId_whenPersistent() {
+        ReflectionTestUtils.setField(idempotencyService, "persistent", true);
+        when(idempotencyKeyRepository.saveAndFlush(any(OrderIdempotencyKey.class)))
+                .thenReturn(OrderIdempotencyKey.builder().id(9L).build());
+        when(orderService.placeOrder(1L, 1L)).thenReturn(orderDto);
+
+        idempotencyService.placeOrder(1L, 1L, "key-1");
+
+        verify(idempotencyKeyRepository).recordOrder(9L, 5L);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should replay the stored order when another instance claimed the key")
+    void placeOrder_shouldReplayStoredOrder_whenKeyIsAlreadyClaimed() {
+        ReflectionTestUtils.setField(idempotencyService, "persistent", true);
+        when(idempotencyKeyRepository.saveAndFlush(any(OrderIdempotencyKey.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(1L, "key-1"))
+                .thenReturn(Optional.of(OrderIdempotencyKey.builder().addressId(1L).orderId(5L).build()));
+        when(orderService.getOrder(5L)).thenReturn(orderDto);
+
+        OrderDto result = idempotencyService.placeOrder(1L, 1L, "key-1");
+
+        assertSame(orderDto, result);
+        verify(orderService, never()).placeOrder(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject a retry while another request holds a recent claim")
+    void placeOrder_shouldThrow_whenClaimIsInProgress() {
+        ReflectionTestUtils.setField(idempotencyService, "persistent", true);
+        when(idempotencyKeyRepository.saveAndFlush(any(OrderIdempotencyKey.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(1L, "key-1"))
+                .thenReturn(Optional.of(OrderIdempotencyKey.builder().id(9L).addressId(1L).createdAt(Instant.now()).build()));
+        when(idempotencyKeyRepository.takeOverStaleClaim(eq(9L), any(Instant.class), any(Instant.class))).thenReturn(0);
+
+        IdempotencyKeyConflictException exception = assertThrows(IdempotencyKeyConflictException.class,
+                () -> idempotencyService.placeOrder(1L, 1L, "key-1"));
+
+        assertEquals(IDEMPOTENCY_KEY_IN_PROGRESS, exception.getMessage());
+        verify(orderService, never()).placeOrder(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should take over a claim abandoned without an order")
+    void placeOrder_shouldPlaceOrder_whenStaleClaimIsTakenOver() {
+        ReflectionTestUtils.setField(idempotencyService, "persistent", true);
+        when(idempotencyKeyRepository.saveAndFlush(any(OrderIdempotencyKey.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(1L, "key-1"))
+                .thenReturn(Optional.of(OrderIdempotencyKey.builder().id(9L).addressId(1L)
+                        .createdAt(Instant.now().minus(Duration.ofHours(1))).build()));
+        when(idempotencyKeyRepository.takeOverStaleClaim(eq(9L), any(Instant.class), any(Instant.class))).thenReturn(1);
+        when(orderService.placeOrder(1L, 1L)).thenReturn(orderDto);
+
+        OrderDto result = idempotencyService.placeOrder(1L, 1L, "key-1");
+
+        assertSame(orderDto, result);
+        verify(idempotencyKeyRepository).recordOrder(9L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should release the claimed key when placing the order fails")
+    void placeOrder_shouldDeleteClaim_whenOrderFails() {
+        ReflectionTestUtils.setField(idempotencyService, "persistent", true);
+        when(idempotencyKeyRepository.saveAndFlush(any(OrderIdempotencyKey.class)))
+                .thenReturn(OrderIdempotencyKey.builder().id(9L).build());
+        when(orderService.placeOrder(1L, 1L)).thenThrow(new InsufficientStockException("Not enough stock for product: 1"));
+
+        assertThrows(InsufficientStockException.class, () -> idempotencyService.placeOrder(1L, 1L, "key-1"));
+
+        verify(idempotencyKeyRepository).deleteById(9L);
+    }
+
+    @Test
+    @DisplayName("Should keep the claim when the order transaction fails to commit")
+    void placeOrder_shouldKeepClaim_whenCommitFails() {
+        ReflectionTestUtils.setField(idempotencyService, "persistent", true);
+        when(idempotencyKeyRepository.saveAndFlush(any(OrderIdempotencyKey.class)))
+                .thenReturn(OrderIdempotencyKey.builder().id(9L).build());
+        when(orderService.placeOrder(1L, 1L)).thenReturn(orderDto);
+        doThrow(new TransactionSystemException("connection lost")).when(transactionManager).commit(any());
+
+        assertThrows(TransactionSystemException.class, () -> idempotencyService.placeOrder(1L, 1L, "key-1"));
+
+        verify(idempotencyKeyRepository, never()).deleteById(anyLong());
+        verify(idempotencyKeyRepository, never()).delete(any(OrderIdempotencyKey.class));
+    }
+}
@@ -8,14 +8,18 @@ import com.omo.shop.cart.model.CartItem;
 import com.omo.shop.cart.service.ICartService;
 import com.omo.shop.common.exceptions.InsufficientStockException;
 import com.omo.shop.common.exceptions.ResourceNotFoundException;
+import com.omo.shop.common.pagination.CursorCodec;
+import com.omo.shop.common.pagination.CursorPage;
+import com.omo.shop.inventory.service.IInventoryService;
 import com.omo.shop.order.dto.OrderDto;
+import com.omo.shop.order.dto.OrderHistoryRow;
+import com.omo.shop.order.dto.OrderKey;
 import com.omo.shop.order.enums.OrderStatus;
 import com.omo.shop.order.mapper.OrderMapper;
 import com.omo.shop.order.model.Order;
 import com.omo.shop.order.model.OrderItem;
 import com.omo.shop.order.repository.OrderRepository;
 import com.omo.shop.product.model.Product;
-import com.omo.shop.product.repository.ProductRepository;
 import com.omo.shop.user.dto.UserDto;
 import com.omo.shop.user.model.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,10 +27,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -39,7 +46,7 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
     @Mock
-    private ProductRepository productRepository;
+    private IInventoryService inventoryService;
     @Mock
     private AddressRepository addressRepository;
     @Mock
@@ -63,6 +70,8 @@ class OrderServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(orderService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(orderService, "maxPageSize", 5);
 
         product = Product.builder()
                 .id(1L)
@@ -160,7 +169,7 @@ class OrderServiceTest {
 
         assertNotNull(result);
         assertEquals(orderDto.getTotalPrice(), result.getTotalPrice());
-        verify(productRepository).saveAll(any());
+        verify(inventoryService).reserve(Map.of(1L, 2));
         verify(cartService).clearCart(cart.getId());
     }
 
@@ -179,21 +188,20 @@ class OrderServiceTest {
 
     @Test
     void placeOrder_shouldThrowException_whenStockIsInsufficient() {
-        product.setInventory(1); // insufficient stock
-
         when(cartService.getCartByUserId(1L)).thenReturn(cart);
         when(addressRepository.findById(address.getId())).thenReturn(Optional.of(address));
+        doThrow(new InsufficientStockException("Not enough stock for product: 1"))
+                .when(inventoryService).reserve(any());
 
         assertThrows(InsufficientStockException.class,
                 () -> orderService.placeOrder(1L,1L));
 
-        verify(productRepository, never()).saveAll(any());
         verify(orderRepository, never()).save(any());
     }
 
     @Test
     void getOrder_shouldReturnOrderDto_whenOrderExists() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsByOrderId(1L)).thenReturn(Optional.of(order));
         when(orderMapper.toDto(order)).thenReturn(orderDto);
 
         OrderDto result = orderService.getOrder(1L);
@@ -204,7 +212,7 @@ class OrderServiceTest {
 
     @Test
     void getOrder_shouldThrowException_whenOrderNotFound() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsByOrderId(1L)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> orderService.getOrder(1L));
@@ -214,15 +222,68 @@ class OrderServiceTest {
 
     @Test
     void getUserOrders_shouldReturnOrderDtoList_whenUserHasOrders() {
-        List<Order> orders = List.of(order);
+        List<OrderHistoryRow> rows = List.of(mock(OrderHistoryRow.class));
         List<OrderDto> orderDtos = List.of(orderDto);
 
-        when(orderRepository.findOrdersByUserId(1L)).thenReturn(orders);
-        when(orderMapper.toDtoList(orders)).thenReturn(orderDtos);
+        when(orderRepository.findOrderHistoryRows(1L)).thenReturn(rows);
+        when(orderMapper.toDtoListFromRows(rows)).thenReturn(orderDtos);
 
         List<OrderDto> result = orderService.getUserOrders(1L);
 
         assertEquals(1, result.size());
         assertEquals(orderDto.getOrderId(), result.get(0).getOrderId());
     }
+
+    @Test
+    void getUserOrderHistory_shouldReturnFirstPageWithCursor_whenMoreOrdersExist() {
+        LocalDateTime time = LocalDateTime.of(2024, 3, 1, 12, 0);
+        List<OrderKey> keys = List.of(orderKey(3L, time), orderKey(2L, time), orderKey(1L, time.minusDays(1)));
+        List<OrderHistoryRow> rows = List.of(mock(OrderHistoryRow.class));
+
+        when(orderRepository.findOrderKeys(eq(1L), any(), any(), eq(Limit.of(3)))).thenReturn(keys);
+        when(orderRepository.findOrderHistoryRowsByOrderIdIn(List.of(3L, 2L))).thenReturn(rows);
+        when(orderMapper.toDtoListFromRows(rows)).thenReturn(List.of(orderDto, orderDto));
+
+        CursorPage<OrderDto> page = orderService.getUserOrderHistory(1L, null, null, null, null);
+
+        assertTrue(page.isHasNext());
+        assertEquals(2, page.getSize());
+        assertEquals(CursorCodec.encode(time, 2L), page.getNextCursor());
+    }
+
+    @Test
+    void getUserOrderHistory_shouldSeekPastCursor_whenCursorIsGiven() {
+        LocalDateTime time = LocalDateTime.of(2024, 3, 1, 12, 0);
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 4, 1, 0, 0);
+        when(orderRepository.findOrderKeysAfter(1L, from, to, time, 2L, Limit.of(3))).thenReturn(List.of());
+
+        CursorPage<OrderDto> page = orderService.getUserOrderHistory(1L, CursorCodec.encode(time, 2L), null, from, to);
+
+        assertFalse(page.isHasNext());
+        assertTrue(page.getItems().isEmpty());
+        verify(orderRepository, never()).findOrderHistoryRowsByOrderIdIn(any());
+    }
+
+    @Test
+    void getUserOrderHistory_shouldThrowException_whenCursorIsInvalid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.getUserOrderHistory(1L, CursorCodec.encode("yesterday", 2L), null, null, null));
+    }
+
+    @Test
+    void getUserOrderHistory_shouldThrowException_whenRangeIsEmpty() {
+        LocalDateTime time = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.getUserOrderHistory(1L, null, null, time, time));
+        verifyNoInteractions(orderRepository);
+    }
+
+    private OrderKey orderKey(Long orderId, LocalDateTime orderDataTime) {
+        OrderKey key = mock(OrderKey.class);
+        when(key.getOrderId()).thenReturn(orderId);
+        when(key.getOrderDataTime()).thenReturn(orderDataTime);
+        return key;
+    }
 }
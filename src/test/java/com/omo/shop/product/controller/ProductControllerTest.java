@@ -3,11 +3,18 @@ package com.omo.shop.product.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omo.shop.category.dto.CategoryDto;
 import com.omo.shop.common.exceptions.ResourceNotFoundException;
+import com.omo.shop.common.pagination.CursorPage;
 import com.omo.shop.product.dto.ProductDto;
+import com.omo.shop.product.dto.ProductImportReport;
+import com.omo.shop.product.dto.ProductPatchReport;
+import com.omo.shop.product.enums.ProductSortKey;
 import com.omo.shop.product.request.AddProductRequest;
+import com.omo.shop.product.request.ProductPatchRequest;
 import com.omo.shop.product.request.UpdateProductRequest;
+import com.omo.shop.product.service.IProductImportService;
 import com.omo.shop.product.service.ProductService;
 import com.omo.shop.security.service.JwtService;
+import com.omo.shop.security.service.TokenRevocationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,9 +31,12 @@ import java.util.List;
 
 import static com.omo.shop.common.constants.ExceptionMessages.CATEGORY_NOT_FOUND;
 import static com.omo.shop.common.constants.ExceptionMessages.PRODUCT_NOT_FOUND;
+import static com.omo.shop.common.constants.ExceptionMessages.INVALID_IMPORT_HEADER;
+import static com.omo.shop.common.constants.ExceptionMessages.INVALID_PRODUCT_PATCH;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -45,9 +55,15 @@ class ProductControllerTest {
     @MockitoBean
     private ProductService productService;
 
+    @MockitoBean
+    private IProductImportService productImportService;
+
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
 
     private ProductDto productDto;
     private AddProductRequest addProductRequest;
@@ -175,6 +191,31 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.data[0].name", is(productDto.getName())));
     }
 
+    @Test
+    @DisplayName("Should get a page of products")
+    void getProducts_Success() throws Exception {
+        CursorPage<ProductDto> page = CursorPage.<ProductDto>builder()
+                .items(productDtoList).size(1).hasNext(true).nextCursor("next").build();
+        when(productService.getProducts(null, 1, ProductSortKey.PRICE)).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("size", "1")
+                        .param("sort", "PRICE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items", hasSize(1)))
+                .andExpect(jsonPath("$.data.nextCursor", is("next")));
+    }
+
+    @Test
+    @DisplayName("Should return bad request for an invalid cursor")
+    void getProducts_BadRequest() throws Exception {
+        when(productService.getProducts("bad", null, ProductSortKey.ID))
+                .thenThrow(new IllegalArgumentException("Invalid pagination cursor"));
+
+        mockMvc.perform(get("/api/v1/products").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should delete product by id")
     void deleteProduct_Success() throws Exception {
@@ -245,4 +286,74 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.data", hasSize(1)))
                 .andExpect(jsonPath("$.data[0].name", is(productDto.getName())));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return the import report for a CSV upload")
+    void importProducts_Success() throws Exception {
+        ProductImportReport report = new ProductImportReport(10);
+        report.recordCreated();
+        report.recordFailure(3, "price is required and must not be negative");
+        when(productImportService.importProducts(any(), eq("text/csv"))).thenReturn(report);
+
+        mockMvc.perform(post("/api/v1/products/import")
+                        .contentType("text/csv")
+                        .content("name,brand,price,category\nPhone,Acme,10,Phones\nCase,Acme,,Phones\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.created", is(1)))
+                .andExpect(jsonPath("$.data.failed", is(1)))
+                .andExpect(jsonPath("$.data.errors[0].line", is(3)));
+    }
+
+    @Test
+    @DisplayName("Should return bad request when the CSV header is invalid")
+    void importProducts_BadRequest() throws Exception {
+        when(productImportService.importProducts(any(), eq("text/csv")))
+                .thenThrow(new IllegalArgumentException(INVALID_IMPORT_HEADER));
+
+        mockMvc.perform(post("/api/v1/products/import")
+                        .contentType("text/csv")
+                        .content("sku,title\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is(INVALID_IMPORT_HEADER)));
+    }
+
+    @Test
+    @DisplayName("Should reject import bodies that are neither CSV nor NDJSON")
+    void importProducts_UnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/api/v1/products/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(productImportService);
+    }
+
+    @Test
+    @DisplayName("Should patch products in bulk and report conflicts")
+    void patchProducts_Success() throws Exception {
+        List<ProductPatchRequest> patches = List.of(
+                ProductPatchRequest.builder().id(1L).price(BigDecimal.TEN).build(),
+                ProductPatchRequest.builder().id(2L).inventory(5).version(3L).build());
+        when(productService.patchProducts(patches))
+                .thenReturn(new ProductPatchReport(1, List.of(), List.of(2L)));
+
+        mockMvc.perform(patch("/api/v1/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patches)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.updated", is(1)))
+                .andExpect(jsonPath("$.data.conflicts[0]", is(2)));
+    }
+
+    @Test
+    @DisplayName("Should return bad request when a patch is invalid")
+    void patchProducts_BadRequest() throws Exception {
+        when(productService.patchProducts(any())).thenThrow(new IllegalArgumentException(INVALID_PRODUCT_PATCH));
+
+        mockMvc.perform(patch("/api/v1/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\": 1}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is(INVALID_PRODUCT_PATCH)));
+    }
+}
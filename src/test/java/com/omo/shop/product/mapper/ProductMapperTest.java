@@ -1,11 +1,15 @@
 package com.omo.shop.product.mapper;
 
+import com.omo.shop.category.dto.CategoryDto;
+import com.omo.shop.category.mapper.CategoryMapper;
+import com.omo.shop.category.model.Category;
+import com.omo.shop.image.mapper.ImageMapper;
+import com.omo.shop.image.model.Image;
 import com.omo.shop.product.dto.ProductDto;
 import com.omo.shop.product.model.Product;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -17,7 +21,7 @@ class ProductMapperTest {
 
     @BeforeEach
     void setUp() {
-        productMapper = new ProductMapper(new ModelMapper());
+        productMapper = new ProductMapper(new CategoryMapper(), new ImageMapper());
     }
 
     @Test
@@ -35,6 +39,36 @@ class ProductMapperTest {
         assertThat(dto.getPrice()).isEqualByComparingTo("1200");
     }
 
+    @Test
+    @DisplayName("should map category and images of the product")
+    void toDto_shouldMapCategoryAndImages() {
+        Product product = Product.builder()
+                .id(1L)
+                .category(Category.builder().id(3L).name("Electronics").build())
+                .images(List.of(Image.builder().id(7L).fileName("front.png").build()))
+                .build();
+
+        ProductDto dto = productMapper.toDto(product);
+
+        assertThat(dto.getCategory().getName()).isEqualTo("Electronics");
+        assertThat(dto.getImages()).singleElement()
+                .satisfies(image -> assertThat(image.getFileName()).isEqualTo("front.png"));
+    }
+
+    @Test
+    @DisplayName("should map category of the productDto")
+    void toEntity_shouldMapCategory() {
+        ProductDto dto = ProductDto.builder()
+                .id(2L)
+                .category(CategoryDto.builder().id(3L).name("Electronics").build())
+                .build();
+
+        Product product = productMapper.toEntity(dto);
+
+        assertThat(product.getCategory().getId()).isEqualTo(3L);
+        assertThat(product.getImages()).isNull();
+    }
+
     @Test
     @DisplayName("should return product when productDto is not null")
     void toEntity_shouldReturnProduct_whenProductDtoIsNotNull() {
@@ -1,13 +1,17 @@
 package com.omo.shop.product.repository;
 
 import com.omo.shop.category.model.Category;
+import com.omo.shop.inventory.dto.ProductInventory;
 import com.omo.shop.product.model.Product;
+import com.omo.shop.product.request.ProductPatchRequest;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -21,6 +25,9 @@ class ProductRepositoryTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Product product1;
     private Product product2;
 
@@ -104,4 +111,90 @@ class ProductRepositoryTest {
 
         assertThat(result).isEmpty();
     }
+
+    @Test
+    @DisplayName("Should seek products after the given id")
+    void findByIdGreaterThanOrderByIdAsc_shouldReturnNextPage() {
+        List<Product> result = productRepository
+                .findByIdGreaterThanOrderByIdAsc(product1.getId(), Limit.of(10));
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getName()).isEqualTo("Phone Y");
+    }
+
+    @Test
+    @DisplayName("Should page products by price then id")
+    void findPricePageAfter_shouldReturnProductsAfterCursor() {
+        List<Product> firstPage = productRepository.findByPriceNotNullOrderByPriceAscIdAsc(Limit.of(1));
+        assertThat(firstPage).hasSize(1);
+        assertThat(firstPage.get(0).getName()).isEqualTo("Phone Y");
+
+        Product last = firstPage.get(0);
+        List<Product> nextPage = productRepository
+                .findPricePageAfter(last.getPrice(), last.getId(), Limit.of(10));
+
+        assertThat(nextPage).hasSize(1);
+        assertThat(nextPage.get(0).getName()).isEqualTo("Laptop X");
+    }
+
+    @Test
+    @DisplayName("Should decrement inventory when enough stock is available")
+    void decrementInventory_shouldUpdateStock_whenAvailable() {
+        product1.setInventory(5);
+        productRepository.saveAndFlush(product1);
+
+        int updated = productRepository.decrementInventory(product1.getId(), 3);
+        entityManager.clear();
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(productRepository.findById(product1.getId()).orElseThrow().getInventory()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not decrement inventory below zero")
+    void decrementInventory_shouldNotUpdate_whenStockIsInsufficient() {
+        product1.setInventory(2);
+        productRepository.saveAndFlush(product1);
+
+        int updated = productRepository.decrementInventory(product1.getId(), 3);
+        entityManager.clear();
+
+        assertThat(updated).isZero();
+        assertThat(productRepository.findById(product1.getId()).orElseThrow().getInventory()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should load inventory projections for the given ids")
+    void findInventoryByIdIn_shouldReturnStock() {
+        product1.setInventory(7);
+        productRepository.saveAndFlush(product1);
+
+        List<ProductInventory> result = productRepository.findInventoryByIdIn(List.of(product1.getId()));
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(product1.getId());
+        assertThat(result.get(0).getInventory()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should patch price and inventory in place and bump the version")
+    void applyPatches_shouldUpdateMatchingRows() {
+        product2.setInventory(4);
+        productRepository.flush();
+        Long version = product1.getVersion();
+
+        int[] counts = productRepository.applyPatches(List.of(
+                ProductPatchRequest.builder().id(product1.getId()).price(BigDecimal.valueOf(5)).version(version).build(),
+                ProductPatchRequest.builder().id(product2.getId()).inventory(9).version(version + 10).build(),
+                ProductPatchRequest.builder().id(-1L).inventory(1).build()));
+        entityManager.clear();
+
+        assertThat(counts).containsExactly(1, 0, 0);
+        Product patched = productRepository.findById(product1.getId()).orElseThrow();
+        assertThat(patched.getPrice()).isEqualByComparingTo("5");
+        assertThat(patched.getInventory()).isZero();
+        assertThat(patched.getVersion()).isEqualTo(version + 1);
+        assertThat(productRepository.findById(product2.getId()).orElseThrow().getInventory()).isEqualTo(4);
+        assertThat(productRepository.findExistingIds(List.of(product2.getId(), -1L))).containsExactly(product2.getId());
+    }
 }
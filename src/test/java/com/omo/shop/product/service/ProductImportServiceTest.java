@@ -0,0 +1,186 @@
+package com.omo.shop.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omo.shop.category.model.Category;
+import com.omo.shop.category.repository.CategoryRepository;
+import com.omo.shop.product.dto.ProductImportReport;
+import com.omo.shop.product.importer.ProductRowReader;
+import com.omo.shop.product.model.Product;
+import com.omo.shop.product.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static com.omo.shop.common.constants.ExceptionMessages.INVALID_IMPORT_HEADER;
+import static com.omo.shop.common.constants.ExceptionMessages.UNSUPPORTED_IMPORT_FORMAT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ProductImportService importService;
+
+    private Category phones;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ProductImportService(productRepository, categoryRepository,
+                new TransactionTemplate(transactionManager), entityManager, new ObjectMapper());
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "maxReportedErrors", 10);
+
+        phones = Category.builder().id(1L).name("Phones").build();
+        lenient().when(categoryRepository.findByName("Phones")).thenReturn(Optional.of(phones));
+        lenient().when(categoryRepository.getReferenceById(1L)).thenReturn(phones);
+    }
+
+    @Test
+    @DisplayName("Should create new products and update existing ones matched by brand and name")
+    void importProducts_shouldCreateAndUpdate() {
+        Product existing = new Product("Phone", "Acme", BigDecimal.ONE, 1, "old", phones);
+        when(productRepository.findByNameIn(anyCollection())).thenReturn(List.of(existing));
+
+        ProductImportReport report = importService.importProducts(body("""
+                name,brand,price,inventory,description,category
+                Phone,Acme,199.90,7,,Phones
+                "Case, leather",Acme,19.50,,"Says ""hi""\",Phones
+                """), "text/csv");
+
+        assertEquals(1, report.getCreated());
+        assertEquals(1, report.getUpdated());
+        assertEquals(0, report.getFailed());
+        assertEquals(new BigDecimal("199.90"), existing.getPrice());
+        assertEquals(7, existing.getInventory());
+        assertEquals("old", existing.getDescription());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Product>> created = ArgumentCaptor.forClass(List.class);
+        verify(productRepository).saveAll(created.capture());
+        Product product = created.getValue().get(0);
+        assertEquals("Case, leather", product.getName());
+        assertEquals("Says \"hi\"", product.getDescription());
+        assertEquals(0, product.getInventory());
+    }
+
+    @Test
+    @DisplayName("Should report invalid rows and unknown categories by line and keep the rest")
+    void importProducts_shouldReportRowErrors() {
+        when(categoryRepository.findByName("Tablets")).thenReturn(Optional.empty());
+
+        ProductImportReport report = importService.importProducts(body("""
+                {"name":"Phone","brand":"Acme","price":10,"category":"Phones"}
+                {"name":"Tab","brand":"Acme","price":"cheap","category":"Phones"}
+
+                {"name":"Tab","brand":"Acme","price":20,"category":"Tablets"}
+                {"name":"Tab 2","brand":"Acme","price":-1,"category":"Phones"}
+                {"name":"Tab 3","brand":"Acme","price":30,"category":"Tablets"}
+                """), "application/x-ndjson");
+
+        assertEquals(1, report.getCreated());
+        assertEquals(4, report.getFailed());
+        assertEquals(List.of(2L, 4L, 5L, 6L),
+                report.getErrors().stream().map(ProductImportReport.RowError::line).toList());
+        verify(categoryRepository, times(1)).findByName("Tablets");
+    }
+
+    @Test
+    @DisplayName("Should retry a rolled-back chunk row by row and fail only the rejected row")
+    void importProducts_shouldRetryRowByRow_whenChunkRollsBack() {
+        when(productRepository.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<Product> products = invocation.getArgument(0);
+            for (Product product : products) {
+                if (product.getName().equals("B")) {
+                    throw new IllegalStateException("Data too long for column");
+                }
+            }
+            return List.of();
+        });
+
+        ProductImportReport report = importService.importProducts(body("""
+                name,brand,price,category
+                A,Acme,1,Phones
+                B,Acme,2,Phones
+                C,Acme,3,Phones
+                """), "text/csv");
+
+        assertEquals(2, report.getCreated());
+        assertEquals(1, report.getFailed());
+        assertEquals(3L, report.getErrors().get(0).line());
+        assertFalse(report.getErrors().get(0).message().contains("Data too long"));
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should fail rows whose text is longer than its column")
+    void importProducts_shouldRejectOverlongText() {
+        ProductImportReport report = importService.importProducts(body(
+                "name,brand,price,category\n" + "n".repeat(256) + ",Acme,1,Phones\nB,Acme,2,Phones\n"), "text/csv");
+
+        assertEquals(1, report.getCreated());
+        assertEquals(1, report.getFailed());
+        assertEquals(2L, report.getErrors().get(0).line());
+    }
+
+    @Test
+    @DisplayName("Should list only the first failures but count them all")
+    void importProducts_shouldTruncateErrorList() {
+        ReflectionTestUtils.setField(importService, "maxReportedErrors", 1);
+
+        ProductImportReport report = importService.importProducts(body("""
+                name,brand,price,category
+                ,Acme,1,Phones
+                ,Acme,2,Phones
+                """), "text/csv");
+
+        assertEquals(2, report.getFailed());
+        assertEquals(1, report.getErrors().size());
+        assertTrue(report.isErrorsTruncated());
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported content types and CSV without the required columns")
+    void importProducts_shouldRejectInvalidInput() {
+        IllegalArgumentException format = assertThrows(IllegalArgumentException.class,
+                () -> importService.importProducts(body("[]"), "application/json"));
+        IllegalArgumentException header = assertThrows(IllegalArgumentException.class,
+                () -> importService.importProducts(body("sku,title\n1,Phone\n"), "text/csv"));
+
+        assertEquals(UNSUPPORTED_IMPORT_FORMAT, format.getMessage());
+        assertEquals(INVALID_IMPORT_HEADER, header.getMessage());
+        verifyNoInteractions(productRepository);
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -4,11 +4,16 @@ import com.omo.shop.category.dto.CategoryDto;
 import com.omo.shop.category.model.Category;
 import com.omo.shop.category.repository.CategoryRepository;
 import com.omo.shop.common.exceptions.ResourceNotFoundException;
+import com.omo.shop.common.pagination.CursorCodec;
+import com.omo.shop.common.pagination.CursorPage;
 import com.omo.shop.product.dto.ProductDto;
+import com.omo.shop.product.dto.ProductPatchReport;
+import com.omo.shop.product.enums.ProductSortKey;
 import com.omo.shop.product.mapper.ProductMapper;
 import com.omo.shop.product.model.Product;
 import com.omo.shop.product.repository.ProductRepository;
 import com.omo.shop.product.request.AddProductRequest;
+import com.omo.shop.product.request.ProductPatchRequest;
 import com.omo.shop.product.request.UpdateProductRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +21,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -23,6 +30,8 @@ import java.util.List;
 import java.util.Optional;
 
 import static com.omo.shop.common.constants.ExceptionMessages.CATEGORY_NOT_FOUND;
+import static com.omo.shop.common.constants.ExceptionMessages.DUPLICATE_PRODUCT_PATCH;
+import static com.omo.shop.common.constants.ExceptionMessages.INVALID_PRODUCT_PATCH;
 import static com.omo.shop.common.constants.ExceptionMessages.PRODUCT_NOT_FOUND;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -55,6 +64,9 @@ class ProductServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(productService, "defaultPageSize", 1);
+        ReflectionTestUtils.setField(productService, "maxPageSize", 2);
+        ReflectionTestUtils.setField(productService, "maxPatches", 3);
 
         category = Category.builder()
                 .id(PRODUCT_ID)
@@ -266,4 +278,93 @@ class ProductServiceTest {
 
         assertEquals(1, result.size());
     }
+
+    @Test
+    @DisplayName("Should return first page with a continuation cursor when more products exist")
+    void getProducts_shouldReturnNextCursor_whenMoreProductsExist() {
+        Product next = Product.builder().id(2L).name("Galaxy S24").price(PRICE).build();
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2)))
+                .thenReturn(List.of(product, next));
+        when(productMapper.toDtoList(List.of(product))).thenReturn(List.of(productDto));
+
+        CursorPage<ProductDto> result = productService.getProducts(null, null, ProductSortKey.ID);
+
+        assertEquals(1, result.getSize());
+        assertTrue(result.isHasNext());
+        assertEquals(CursorCodec.encode(ProductSortKey.ID, PRODUCT_ID), result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should cap page size and seek after the cursor")
+    void getProducts_shouldSeekAfterCursor_andCapPageSize() {
+        String cursor = CursorCodec.encode(ProductSortKey.PRICE, PRICE.toPlainString(), PRODUCT_ID);
+        when(productRepository.findPricePageAfter(PRICE, PRODUCT_ID, Limit.of(3)))
+                .thenReturn(List.of(product));
+        when(productMapper.toDtoList(List.of(product))).thenReturn(List.of(productDto));
+
+        CursorPage<ProductDto> result = productService.getProducts(cursor, 500, ProductSortKey.ID);
+
+        assertEquals(1, result.getSize());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(productRepository).findPricePageAfter(PRICE, PRODUCT_ID, Limit.of(3));
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void getProducts_shouldThrowException_whenCursorIsInvalid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.getProducts("not-a-cursor", 10, ProductSortKey.ID));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should report missing products and version conflicts separately")
+    void patchProducts_shouldSplitUnmatchedPatches() {
+        List<ProductPatchRequest> patches = List.of(
+                ProductPatchRequest.builder().id(1L).price(BigDecimal.TEN).build(),
+                ProductPatchRequest.builder().id(2L).inventory(5).version(3L).build(),
+                ProductPatchRequest.builder().id(3L).inventory(0).build());
+        when(productRepository.applyPatches(patches)).thenReturn(new int[]{1, 0, 0});
+        when(productRepository.findExistingIds(List.of(2L, 3L))).thenReturn(List.of(2L));
+
+        ProductPatchReport report = productService.patchProducts(patches);
+
+        assertEquals(1, report.getUpdated());
+        assertEquals(List.of(3L), report.getNotFound());
+        assertEquals(List.of(2L), report.getConflicts());
+    }
+
+    @Test
+    @DisplayName("Should not look up products when every patch applied")
+    void patchProducts_shouldSkipLookup_whenAllApplied() {
+        List<ProductPatchRequest> patches = List.of(ProductPatchRequest.builder().id(1L).inventory(4).build());
+        when(productRepository.applyPatches(patches)).thenReturn(new int[]{1});
+
+        ProductPatchReport report = productService.patchProducts(patches);
+
+        assertEquals(1, report.getUpdated());
+        assertTrue(report.getNotFound().isEmpty());
+        verify(productRepository, never()).findExistingIds(any());
+    }
+
+    @Test
+    @DisplayName("Should reject the whole request when a patch is invalid")
+    void patchProducts_shouldThrowException_whenPatchIsInvalid() {
+        ProductPatchRequest valid = ProductPatchRequest.builder().id(1L).price(BigDecimal.ONE).build();
+
+        IllegalArgumentException empty = assertThrows(IllegalArgumentException.class,
+                () -> productService.patchProducts(List.of(valid, ProductPatchRequest.builder().id(2L).build())));
+        IllegalArgumentException negative = assertThrows(IllegalArgumentException.class,
+                () -> productService.patchProducts(List.of(ProductPatchRequest.builder().id(2L).inventory(-1).build())));
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class,
+                () -> productService.patchProducts(List.of(valid, valid)));
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.patchProducts(List.of(valid, valid, valid, valid)));
+
+        assertEquals(INVALID_PRODUCT_PATCH, empty.getMessage());
+        assertEquals(INVALID_PRODUCT_PATCH, negative.getMessage());
+        assertEquals(DUPLICATE_PRODUCT_PATCH + 1L, duplicate.getMessage());
+        verifyNoInteractions(productRepository);
+    }
 }
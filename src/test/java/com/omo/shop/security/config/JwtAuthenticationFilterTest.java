@@ -0,0 +1,136 @@
+package com.omo.shop.security.config;
+
+import com.omo.shop.security.service.JwtService;
+import com.omo.shop.security.service.TokenRevocationService;
+import com.omo.shop.security.userprincipal.ShopUserDetails;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private FilterChain filterChain;
+
+    @InjectMocks
+    private JwtAuthenticationFilter filter;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private Claims claims;
+    private ShopUserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filter, "stateless", true);
+        ReflectionTestUtils.setField(filter, "userCheckTtl", Duration.ZERO);
+        ReflectionTestUtils.setField(filter, "userCheckCacheSize", 10);
+
+        request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        response = new MockHttpServletResponse();
+        claims = Jwts.claims().setSubject("user@example.com");
+        user = new ShopUserDetails(1L, "user@example.com", null, List.of());
+
+        when(jwtService.parseClaims("token")).thenReturn(claims);
+        lenient().when(jwtService.isTokenValid(claims, user)).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate from the token claims without loading the user")
+    void doFilter_shouldNotLoadUser_whenStateless() throws Exception {
+        when(jwtService.toUserDetails(claims)).thenReturn(user);
+
+        filter.doFilter(request, response, filterChain);
+
+        assertSame(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verifyNoInteractions(userDetailsService);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("Should confirm the user exists once per check ttl")
+    void doFilter_shouldLoadUserOnce_whenCheckTtlIsSet() throws Exception {
+        ReflectionTestUtils.setField(filter, "userCheckTtl", Duration.ofMinutes(1));
+        when(jwtService.toUserDetails(claims)).thenReturn(user);
+        when(userDetailsService.loadUserByUsername("user@example.com")).thenReturn(user);
+
+        filter.doFilter(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(userDetailsService, times(1)).loadUserByUsername("user@example.com");
+    }
+
+    @Test
+    @DisplayName("Should reject the token when the user no longer exists")
+    void doFilter_shouldReturn401_whenUserWasDeleted() throws Exception {
+        ReflectionTestUtils.setField(filter, "userCheckTtl", Duration.ofMinutes(1));
+        when(jwtService.toUserDetails(claims)).thenReturn(user);
+        when(userDetailsService.loadUserByUsername("user@example.com"))
+                .thenThrow(new UsernameNotFoundException("User not found"));
+
+        filter.doFilter(request, response, filterChain);
+
+        assertEquals(401, response.getStatus());
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    @DisplayName("Should fall back to loading the user when the token has no role claims")
+    void doFilter_shouldLoadUser_whenClaimsAreIncomplete() throws Exception {
+        when(jwtService.toUserDetails(claims)).thenReturn(null);
+        when(userDetailsService.loadUserByUsername("user@example.com")).thenReturn(user);
+
+        filter.doFilter(request, response, filterChain);
+
+        assertSame(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    }
+
+    @Test
+    @DisplayName("Should reject a revoked token")
+    void doFilter_shouldReturn401_whenTokenIsRevoked() throws Exception {
+        when(tokenRevocationService.isRevoked(claims)).thenReturn(true);
+
+        filter.doFilter(request, response, filterChain);
+
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(filterChain);
+    }
+}
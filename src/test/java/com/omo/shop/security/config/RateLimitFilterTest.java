@@ -0,0 +1,116 @@
+package com.omo.shop.security.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitFilter(true,
+                List.of("/api/v1/products/by-name/**:1:2", "/api/v1/products/**:10:10"), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once the burst is used up")
+    void doFilter_shouldReturn429_whenBurstIsExceeded() throws Exception {
+        assertEquals(200, send("/api/v1/products/by-name/phone", "10.0.0.1").getStatus());
+        assertEquals(200, send("/api/v1/products/by-name/phone", "10.0.0.1").getStatus());
+
+        MockHttpServletResponse limited = send("/api/v1/products/by-name/phone", "10.0.0.1");
+
+        assertEquals(429, limited.getStatus());
+        assertEquals("1", limited.getHeader("Retry-After"));
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per client and per route group")
+    void doFilter_shouldNotShareBuckets() throws Exception {
+        send("/api/v1/products/by-name/phone", "10.0.0.1");
+        send("/api/v1/products/by-name/phone", "10.0.0.1");
+
+        assertEquals(200, send("/api/v1/products/by-name/phone", "10.0.0.2").getStatus());
+        assertEquals(200, send("/api/v1/products/1", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    @DisplayName("Should key authenticated clients by subject rather than address")
+    void doFilter_shouldUseSubject_whenAuthenticated() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@example.com", null, List.of()));
+        send("/api/v1/products/by-name/phone", "10.0.0.1");
+        send("/api/v1/products/by-name/phone", "10.0.0.2");
+
+        assertEquals(429, send("/api/v1/products/by-name/phone", "10.0.0.3").getStatus());
+    }
+
+    @Test
+    @DisplayName("Should not limit paths outside every group")
+    void doFilter_shouldPassThrough_whenNoGroupMatches() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            assertEquals(200, send("/api/v1/orders/1", "10.0.0.1").getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("Should admit requests again once tokens have refilled")
+    void acquire_shouldRefillOverTime() {
+        RateLimitFilter.RouteGroup group = RateLimitFilter.RouteGroup.parse("/x:1:2");
+        long now = 0;
+
+        assertEquals(0, filter.acquire("k", group, now));
+        assertEquals(0, filter.acquire("k", group, now));
+        assertTrue(filter.acquire("k", group, now) > 0);
+        assertEquals(0, filter.acquire("k", group, now + TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    @Test
+    @DisplayName("Should limit new clients through a shared bucket once the table is full")
+    void acquire_shouldShareOverflowBucket_whenTableIsFull() {
+        RateLimitFilter full = new RateLimitFilter(true, List.of(), 1);
+        RateLimitFilter.RouteGroup group = RateLimitFilter.RouteGroup.parse("/x:1:2");
+        long now = 0;
+        full.acquire("tracked", group, now);
+
+        assertEquals(0, full.acquire("a", group, now));
+        assertEquals(0, full.acquire("b", group, now));
+        assertTrue(full.acquire("c", group, now) > 0);
+        assertEquals(0, full.acquire("tracked", group, now));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed group definitions")
+    void routeGroup_shouldRejectMalformedSpec() {
+        assertThrows(IllegalArgumentException.class, () -> RateLimitFilter.RouteGroup.parse("/x:1"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimitFilter.RouteGroup.parse("/x:0:5"));
+    }
+
+    private MockHttpServletResponse send(String path, String remoteAddress) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(remoteAddress);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,105 @@
+package com.omo.shop.security.service;
+
+import com.omo.shop.security.userprincipal.ShopUserDetails;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private JwtService jwtService;
+    private ShopUserDetails user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 60_000, 16);
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        user = new ShopUserDetails(1L, "user@example.com", "password", authorities);
+        token = jwtService.generateTokenForUser(
+                new UsernamePasswordAuthenticationToken(user, null, authorities));
+    }
+
+    @Test
+    @DisplayName("Should return the claims of a generated token")
+    void parseClaims_shouldReturnClaims_whenTokenIsValid() {
+        Claims claims = jwtService.parseClaims(token);
+
+        assertEquals("user@example.com", claims.getSubject());
+        assertEquals(1, claims.get("id", Integer.class));
+        assertEquals(List.of("ROLE_USER"), claims.get("roles", List.class));
+    }
+
+    @Test
+    @DisplayName("Should return the same claims for a repeated token")
+    void parseClaims_shouldReuseClaims_whenTokenWasVerified() {
+        Claims first = jwtService.parseClaims(token);
+        Claims second = jwtService.parseClaims(token);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should reject a token with a tampered signature")
+    void parseClaims_shouldThrow_whenSignatureDoesNotMatch() {
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char first = token.charAt(signatureStart);
+        String tampered = token.substring(0, signatureStart)
+                + (first == 'A' ? 'B' : 'A')
+                + token.substring(signatureStart + 1);
+
+        assertThrows(JwtException.class, () -> jwtService.parseClaims(tampered));
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key")
+    void parseClaims_shouldThrow_whenSignedWithAnotherKey() {
+        byte[] otherSecret = new byte[32];
+        otherSecret[0] = 1;
+        JwtService other = new JwtService(Base64.getEncoder().encodeToString(otherSecret), 60_000, 16);
+
+        assertThrows(JwtException.class, () -> other.parseClaims(token));
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void parseClaims_shouldThrow_whenTokenHasExpired() {
+        JwtService expiring = new JwtService(SECRET, -1_000, 16);
+        String expired = expiring.generateTokenForUser(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        assertThrows(ExpiredJwtException.class, () -> expiring.parseClaims(expired));
+    }
+
+    @Test
+    @DisplayName("Should validate the token against the user it was issued to")
+    void isTokenValid_shouldMatchSubject() {
+        ShopUserDetails otherUser = new ShopUserDetails(2L, "other@example.com", "password", List.of());
+
+        assertTrue(jwtService.isTokenValid(token, user));
+        assertFalse(jwtService.isTokenValid(jwtService.parseClaims(token), otherUser));
+    }
+
+    @Test
+    @DisplayName("Should rebuild the user from the id and roles claims")
+    void toUserDetails_shouldUseClaims() {
+        ShopUserDetails result = jwtService.toUserDetails(jwtService.parseClaims(token));
+
+        assertEquals(1L, result.getId());
+        assertEquals("user@example.com", result.getUsername());
+        assertEquals("ROLE_USER", result.getAuthorities().iterator().next().getAuthority());
+    }
+}
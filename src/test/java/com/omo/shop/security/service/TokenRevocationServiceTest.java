@@ -0,0 +1,105 @@
+package com.omo.shop.security.service;
+
+import com.omo.shop.security.model.RevokedToken;
+import com.omo.shop.security.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationService revocationService;
+    private Claims claims;
+
+    @BeforeEach
+    void setUp() {
+        revocationService = new TokenRevocationService(revokedTokenRepository, 1000, 0.01);
+        claims = Jwts.claims()
+                .setId("token-1")
+                .setExpiration(Date.from(Instant.now().plusSeconds(3600)));
+    }
+
+    @Test
+    @DisplayName("Should reject a token as soon as it is revoked")
+    void revoke_shouldStoreAndApplyImmediately() {
+        revocationService.revoke(claims);
+
+        assertTrue(revocationService.isRevoked(claims));
+        verify(revokedTokenRepository).save(argThat(row -> row.getTokenId().equals("token-1")));
+    }
+
+    @Test
+    @DisplayName("Should accept tokens that were never revoked")
+    void isRevoked_shouldReturnFalse_whenNotRevoked() {
+        revocationService.revoke(claims);
+
+        assertFalse(revocationService.isRevoked(Jwts.claims().setId("token-2")));
+        assertFalse(revocationService.isRevoked(Jwts.claims()));
+    }
+
+    @Test
+    @DisplayName("Should refuse to revoke a token without an id")
+    void revoke_shouldThrow_whenTokenHasNoId() {
+        assertThrows(IllegalArgumentException.class, () -> revocationService.revoke(Jwts.claims()));
+
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should load revocations made on other instances")
+    void refresh_shouldLoadRevokedTokensFromDatabase() {
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class))).thenReturn(List.of(
+                RevokedToken.builder().tokenId("token-1").expiresAt(Instant.now().plusSeconds(3600)).build()));
+
+        revocationService.refresh();
+
+        assertTrue(revocationService.isRevoked(claims));
+        verify(revokedTokenRepository).deleteExpiredBefore(any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should keep local revocations the database query did not return")
+    void refresh_shouldKeepLocalRevocations() {
+        revocationService.revoke(claims);
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class))).thenReturn(List.of());
+
+        revocationService.refresh();
+
+        assertTrue(revocationService.isRevoked(claims));
+    }
+
+    @Test
+    @DisplayName("Should never miss an added value in the Bloom filter")
+    void bloomFilter_shouldContainEveryAddedValue() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("token-" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("token-" + i));
+        }
+        long falsePositives = IntStream.range(1000, 11000)
+                .filter(i -> filter.mightContain("token-" + i))
+                .count();
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
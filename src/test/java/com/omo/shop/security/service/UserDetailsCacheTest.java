@@ -0,0 +1,122 @@
+package com.omo.shop.security.service;
+
+import com.omo.shop.security.userprincipal.ShopUserDetails;
+import com.omo.shop.user.model.User;
+import com.omo.shop.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private MeterRegistry meterRegistry;
+    private UserDetailsCache userDetailsCache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsCache = new UserDetailsCache(userRepository, meterRegistry, Duration.ofMinutes(5), 2);
+        user = User.builder()
+                .id(1L)
+                .email("user@example.com")
+                .password("encoded-pass")
+                .roles(new HashSet<>())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should load a user once and serve repeats from the cache")
+    void find_shouldHitCache_whenUserWasLoaded() {
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+
+        ShopUserDetails first = userDetailsCache.find("user@example.com").orElseThrow();
+        ShopUserDetails second = userDetailsCache.find("user@example.com").orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(1L, first.getId());
+        verify(userRepository, times(1)).findByEmail("user@example.com");
+        assertEquals(1.0, gets("hit"));
+        assertEquals(1.0, gets("miss"));
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown emails")
+    void find_shouldReturnEmpty_whenUserDoesNotExist() {
+        when(userRepository.findByEmail("missing@example.com")).thenReturn(Optional.empty());
+
+        assertTrue(userDetailsCache.find("missing@example.com").isEmpty());
+        assertTrue(userDetailsCache.find("missing@example.com").isEmpty());
+
+        verify(userRepository, times(2)).findByEmail("missing@example.com");
+    }
+
+    @Test
+    @DisplayName("Should reload a user after eviction by email")
+    void evict_shouldForceReload() {
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+
+        userDetailsCache.find("user@example.com");
+        userDetailsCache.evict("user@example.com");
+        userDetailsCache.find("user@example.com");
+
+        verify(userRepository, times(2)).findByEmail("user@example.com");
+    }
+
+    @Test
+    @DisplayName("Should reload a user after eviction by id")
+    void evictUserId_shouldForceReload() {
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+
+        userDetailsCache.find("user@example.com");
+        userDetailsCache.evictUserId(1L);
+        userDetailsCache.find("user@example.com");
+
+        verify(userRepository, times(2)).findByEmail("user@example.com");
+    }
+
+    @Test
+    @DisplayName("Should reload a user whose entry has expired")
+    void find_shouldReload_whenEntryExpired() {
+        userDetailsCache = new UserDetailsCache(userRepository, meterRegistry, Duration.ZERO, 2);
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+
+        userDetailsCache.find("user@example.com");
+        userDetailsCache.find("user@example.com");
+
+        verify(userRepository, times(2)).findByEmail("user@example.com");
+    }
+
+    @Test
+    @DisplayName("Should keep at most max-entries users")
+    void find_shouldEvictEldest_whenFull() {
+        for (long id = 1; id <= 3; id++) {
+            String email = "user" + id + "@example.com";
+            User other = User.builder().id(id).email(email).roles(new HashSet<>()).build();
+            when(userRepository.findByEmail(email)).thenReturn(Optional.of(other));
+            userDetailsCache.find(email);
+        }
+
+        assertEquals(2.0, meterRegistry.get("cache.size").gauge().value());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("result", result).counter().count();
+    }
+}
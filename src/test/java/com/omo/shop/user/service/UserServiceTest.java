@@ -2,6 +2,8 @@ package com.omo.shop.user.service;
 
 import com.omo.shop.common.exceptions.AlreadyExistsException;
 import com.omo.shop.common.exceptions.ResourceNotFoundException;
+import com.omo.shop.security.service.UserDetailsCache;
+import com.omo.shop.security.userprincipal.ShopUserDetails;
 import com.omo.shop.user.UserMapper;
 import com.omo.shop.user.dto.UserDto;
 import com.omo.shop.user.model.User;
@@ -18,6 +20,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
 
 import static com.omo.shop.common.constants.ExceptionMessages.EMAIL_TAKE;
@@ -36,6 +39,8 @@ class UserServiceTest {
     private PasswordEncoder passwordEncoder;
     @Mock
     private Authentication authentication;
+    @Mock
+    private UserDetailsCache userDetailsCache;
 
     @InjectMocks
     private UserService userService;
@@ -157,6 +162,7 @@ class UserServiceTest {
         assertEquals(userDto.getEmail(), result.getEmail());
         verify(userRepository).save(user);
         verify(userMapper).toDto(user);
+        verify(userDetailsCache).evict(user.getEmail());
     }
 
     @Test
@@ -173,6 +179,7 @@ class UserServiceTest {
     void deleteUser_shouldCallRepository() {
         userService.deleteUser(1L);
         verify(userRepository).deleteById(1L);
+        verify(userDetailsCache).evictUserId(1L);
     }
 
     @Test
@@ -180,11 +187,14 @@ class UserServiceTest {
     void getAuthenticatedUser_shouldReturnUser_whenEmailMatches() {
         SecurityContextHolder.getContext().setAuthentication(authentication);
         when(authentication.getName()).thenReturn(user.getEmail());
-        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(userDetailsCache.find(user.getEmail()))
+                .thenReturn(Optional.of(new ShopUserDetails(1L, user.getEmail(), null, List.of())));
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
 
         User result = userService.getAuthenticatedUser();
 
         assertEquals(user.getEmail(), result.getEmail());
+        verify(userRepository, never()).findByEmail(anyString());
     }
 
     @Test
@@ -192,7 +202,7 @@ class UserServiceTest {
     void getAuthenticatedUser_shouldThrow_whenEmailNotFound() {
         SecurityContextHolder.getContext().setAuthentication(authentication);
         when(authentication.getName()).thenReturn("notfound@example.com");
-        when(userRepository.findByEmail("notfound@example.com")).thenReturn(Optional.empty());
+        when(userDetailsCache.find("notfound@example.com")).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () ->
                 userService.getAuthenticatedUser());